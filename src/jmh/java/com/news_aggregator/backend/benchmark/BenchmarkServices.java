@@ -0,0 +1,23 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.service.filters.ArticleTokenizer;
+import com.news_aggregator.backend.service.filters.EsgFilterService;
+
+/**
+ * Services built outside Spring for the in-memory benchmarks, through their real constructors
+ * with the defaults from {@code application.yml}.
+ */
+final class BenchmarkServices {
+
+    private BenchmarkServices() {}
+
+    /** clustering.vectorizer.* defaults */
+    static ArticleTokenizer tokenizer() {
+        return new ArticleTokenizer(2.0f, 1.0f, 1.0f, 64, 128, 400);
+    }
+
+    /** Built-in keywords (no esg_terms table) with ingest.esg.min-score 1.0 */
+    static EsgFilterService esgFilter() {
+        return new EsgFilterService(null, 1.0);
+    }
+}
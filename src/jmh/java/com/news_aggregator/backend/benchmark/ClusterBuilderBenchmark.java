@@ -0,0 +1,75 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.service.filters.GraphClusterBuilder;
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the union-find cluster builder against the original graph/DFS builder
+ * on synthetic similarity pairs shaped like a real run: many small stories of
+ * 2–8 related articles, each linked by a handful of pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClusterBuilderBenchmark {
+
+    @Param({"10000", "50000"})
+    public int pairs;
+
+    private long[] id1;
+    private long[] id2;
+    private double[] similarity;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        id1 = new long[pairs];
+        id2 = new long[pairs];
+        similarity = new double[pairs];
+
+        long nextId = 1;
+        int k = 0;
+        while (k < pairs) {
+            int storySize = 2 + random.nextInt(7);
+            long first = nextId;
+            nextId += storySize;
+            // a spanning chain plus a few extra edges inside the story
+            int edges = storySize - 1 + random.nextInt(storySize);
+            for (int e = 0; e < edges && k < pairs; e++, k++) {
+                long a = e < storySize - 1 ? first + e : first + random.nextInt(storySize);
+                long b = e < storySize - 1 ? first + e + 1 : first + random.nextInt(storySize);
+                id1[k] = a;
+                id2[k] = b;
+                similarity[k] = 0.5 + random.nextDouble() / 2;
+            }
+        }
+
+        if (!memberships(UnionFindClusterBuilder.build(id1, id2, similarity, pairs))
+                .equals(memberships(GraphClusterBuilder.build(id1, id2, similarity, pairs)))) {
+            throw new IllegalStateException("Union-find and graph builders disagree on cluster membership");
+        }
+    }
+
+    private static Set<Set<Long>> memberships(List<UnionFindClusterBuilder.Cluster> clusters) {
+        return clusters.stream()
+                .map(c -> (Set<Long>) new HashSet<>(c.articleIds()))
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public List<UnionFindClusterBuilder.Cluster> unionFind() {
+        return UnionFindClusterBuilder.build(id1, id2, similarity, pairs);
+    }
+
+    @Benchmark
+    public List<UnionFindClusterBuilder.Cluster> graphTraversal() {
+        return GraphClusterBuilder.build(id1, id2, similarity, pairs);
+    }
+}
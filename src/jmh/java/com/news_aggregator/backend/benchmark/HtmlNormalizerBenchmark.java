@@ -0,0 +1,101 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news_aggregator.backend.service.filters.TextNormalizerService;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast-path {@link TextNormalizerService#normalize} against the previous Jsoup-only
+ * implementation, on the text fields of sample Guardian and NewsAPI responses
+ * (src/jmh/resources/payloads) plus the synthetic corpus HTML.
+ *
+ * Setup fails if any field normalizes differently from the Jsoup reference.
+ * One op = every field once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HtmlNormalizerBenchmark {
+
+    @Param({"payloads", "synthetic"})
+    public String input;
+
+    private List<String> fields;
+    private final TextNormalizerService normalizer = new TextNormalizerService();
+
+    @Setup
+    public void setUp() throws IOException {
+        fields = input.equals("payloads") ? payloadFields() : syntheticFields();
+        for (String field : fields) {
+            String expected = jsoupNormalize(field);
+            String actual = normalizer.normalize(field);
+            if (!Objects.equals(expected, actual)) {
+                throw new IllegalStateException("Normalizer output differs from Jsoup for: " + field
+                        + "\n expected: " + expected + "\n actual:   " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public void jsoup(Blackhole bh) {
+        for (String field : fields) bh.consume(jsoupNormalize(field));
+    }
+
+    @Benchmark
+    public void fastPath(Blackhole bh) {
+        for (String field : fields) bh.consume(normalizer.normalize(field));
+    }
+
+    /** The normalizer as it was before the fast path: always a full Jsoup parse */
+    static String jsoupNormalize(String html) {
+        if (html == null || html.isBlank()) return null;
+        String text = Jsoup.parse(html).text().replaceAll("\\s+", " ").trim();
+        return text.replaceAll("\\[\\+\\d+ chars\\]", "").trim();
+    }
+
+    private static List<String> payloadFields() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> fields = new ArrayList<>();
+        for (JsonNode result : read(mapper, "payloads/guardian-search.json").path("response").path("results")) {
+            JsonNode f = result.path("fields");
+            for (String name : List.of("headline", "trailText", "body", "bodyText")) {
+                if (f.hasNonNull(name)) fields.add(f.get(name).asText());
+            }
+        }
+        for (JsonNode article : read(mapper, "payloads/newsapi-everything.json").path("articles")) {
+            for (String name : List.of("title", "description", "content")) {
+                if (article.hasNonNull(name)) fields.add(article.get(name).asText());
+            }
+        }
+        return fields;
+    }
+
+    private static List<String> syntheticFields() {
+        List<String> fields = new ArrayList<>();
+        for (SyntheticCorpus.Article a : SyntheticCorpus.generate(1000, 7)) {
+            fields.add(a.title());
+            fields.add(a.description());
+            fields.add(a.html());
+        }
+        return fields;
+    }
+
+    private static JsonNode read(ObjectMapper mapper, String resource) throws IOException {
+        try (InputStream in = HtmlNormalizerBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Missing benchmark resource " + resource);
+            return mapper.readTree(in);
+        }
+    }
+}
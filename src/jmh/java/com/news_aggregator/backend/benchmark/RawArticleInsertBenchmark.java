@@ -0,0 +1,212 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.model.RawArticle;
+import com.news_aggregator.backend.repository.RawArticleBatchWriter;
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import com.news_aggregator.backend.service.filters.ArticleTokenizer;
+import com.news_aggregator.backend.service.filters.CorpusStatsService;
+import com.news_aggregator.backend.service.filters.TermDictionary;
+import com.news_aggregator.backend.service.filters.TextNormalizerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving one fetched page of raw articles against a real PostgreSQL.
+ *
+ * {@code saveEach} is the path before {@link RawArticleBatchWriter} ({@code rawRepo.save} per
+ * article, one IDENTITY INSERT round-trip each) and {@code insertBatch} the batch insert.
+ * The {@code ...WithStats} pair adds the corpus stats writes: term ids, DF upsert and document
+ * count per article, versus once per page as {@code RawArticlePageWriter} does.
+ *
+ * The database is a Testcontainers PostgreSQL unless {@code BENCHMARK_PG_URL} (with
+ * {@code BENCHMARK_PG_USER} / {@code BENCHMARK_PG_PASSWORD}) points at an empty one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RawArticleInsertBenchmark {
+
+    /** raw_articles predates the migrations (Hibernate created it), so it is set up here the same way */
+    private static final String RAW_ARTICLES_DDL = """
+        CREATE TABLE IF NOT EXISTS raw_articles (
+            id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            api_source varchar(255) NOT NULL,
+            title text,
+            description text,
+            content text,
+            url text,
+            image_url text,
+            source_name text,
+            published_at timestamptz,
+            fetched_at timestamptz NOT NULL,
+            raw_json jsonb,
+            processed boolean NOT NULL
+        )
+    """;
+
+    /** NewsAPI and Guardian pages hold 50 results */
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private PostgreSQLContainer<?> container;
+    private ConfigurableApplicationContext context;
+    private RawArticleRepository rawRepo;
+    private RawArticleBatchWriter batchWriter;
+    private CorpusStatsService corpusStats;
+
+    private final List<RawArticle> templates = new ArrayList<>();
+    private long nextUrl;
+    private List<RawArticle> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getenv("BENCHMARK_PG_URL");
+        String user = System.getenv().getOrDefault("BENCHMARK_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("BENCHMARK_PG_PASSWORD", "");
+        if (url == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            url = container.getJdbcUrl();
+            user = container.getUsername();
+            password = container.getPassword();
+        }
+        url += (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(RAW_ARTICLES_DDL);
+        }
+
+        context = new SpringApplicationBuilder(Config.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--spring.flyway.enabled=true",
+                        "--spring.flyway.baseline-on-migrate=true",
+                        "--spring.flyway.baseline-version=0",
+                        "--logging.level.root=WARN");
+        rawRepo = context.getBean(RawArticleRepository.class);
+        batchWriter = context.getBean(RawArticleBatchWriter.class);
+        corpusStats = context.getBean(CorpusStatsService.class);
+
+        TextNormalizerService normalizer = new TextNormalizerService();
+        for (SyntheticCorpus.Article a : SyntheticCorpus.generate(1_000, 29)) {
+            RawArticle raw = new RawArticle();
+            raw.setApiSource("NewsAPI");
+            raw.setTitle(a.title());
+            raw.setDescription(a.description());
+            raw.setContent(normalizer.normalize(a.html()));
+            raw.setSourceName("Benchmark Daily");
+            raw.setPublishedAt(OffsetDateTime.now());
+            raw.setRawJson(Map.of("title", a.title(), "description", a.description()));
+            raw.setSimhash(a.id() * 0x9E3779B97F4A7C15L);
+            templates.add(raw);
+        }
+        // Register the vocabulary once, like a running instance that has seen these terms before
+        List<Map<String, Float>> terms = templates.stream()
+                .map(r -> corpusStats.termFrequencies(r.getTitle(), r.getDescription(), r.getContent()))
+                .toList();
+        List<byte[]> vectors = corpusStats.termVectors(terms);
+        for (int i = 0; i < templates.size(); i++) templates.get(i).setTermVector(vectors.get(i));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) context.close();
+        if (container != null) container.stop();
+    }
+
+    /** A page of new (unsaved) articles with unique URLs */
+    @Setup(Level.Invocation)
+    public void nextPage() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            RawArticle template = templates.get((int) (nextUrl % templates.size()));
+            RawArticle raw = new RawArticle();
+            raw.setApiSource(template.getApiSource());
+            raw.setTitle(template.getTitle());
+            raw.setDescription(template.getDescription());
+            raw.setContent(template.getContent());
+            raw.setUrl("https://bench.example/articles/" + nextUrl++);
+            raw.setSourceName(template.getSourceName());
+            raw.setPublishedAt(template.getPublishedAt());
+            raw.setRawJson(template.getRawJson());
+            raw.setSimhash(template.getSimhash());
+            raw.setTermVector(template.getTermVector());
+            page.add(raw);
+        }
+    }
+
+    @Benchmark
+    public void saveEach() {
+        for (RawArticle raw : page) rawRepo.save(raw);
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        batchWriter.insertAll(page);
+    }
+
+    @Benchmark
+    public void saveEachWithStats() {
+        for (RawArticle raw : page) {
+            List<Map<String, Float>> terms =
+                    List.of(corpusStats.termFrequencies(raw.getTitle(), raw.getDescription(), raw.getContent()));
+            raw.setTermVector(corpusStats.termVectors(terms).get(0));
+            corpusStats.recordDocuments(terms);
+            rawRepo.save(raw);
+        }
+    }
+
+    /** What {@code RawArticlePageWriter.write} does for a page without failures */
+    @Benchmark
+    public void insertBatchWithStats() {
+        List<Map<String, Float>> terms = new ArrayList<>(page.size());
+        for (RawArticle raw : page) {
+            terms.add(corpusStats.termFrequencies(raw.getTitle(), raw.getDescription(), raw.getContent()));
+        }
+        List<byte[]> vectors = corpusStats.termVectors(terms);
+        for (int i = 0; i < page.size(); i++) page.get(i).setTermVector(vectors.get(i));
+        batchWriter.insertAll(page);
+        corpusStats.recordDocuments(terms);
+    }
+
+    /** Just the persistence layer, without web, security or schedulers */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class,
+            JacksonAutoConfiguration.class, FlywayAutoConfiguration.class})
+    @EntityScan(basePackageClasses = RawArticle.class)
+    @EnableJpaRepositories(basePackageClasses = RawArticleRepository.class)
+    @Import({RawArticleBatchWriter.class, CorpusStatsService.class, ArticleTokenizer.class, TermDictionary.class})
+    static class Config {
+    }
+}
@@ -0,0 +1,89 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.service.filters.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-k "related articles" lookup: HNSW search vs a full cosine scan.
+ * Setup checks that HNSW finds at least 90% of the exact top-k on a query sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class RelatedArticlesBenchmark {
+
+    private static final int K = 10;
+
+    @Param({"1000", "10000"})
+    public int corpusSize;
+
+    private List<SparseVector> vectors;
+    private HnswIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        TextNormalizerService normalizer = new TextNormalizerService();
+        ArticleTokenizer tokenizer = BenchmarkServices.tokenizer();
+        TermDictionary dictionary = new TermDictionary();
+
+        List<Map<String, Double>> counts = new ArrayList<>();
+        Map<String, Integer> df = new HashMap<>();
+        for (SyntheticCorpus.Article a : SyntheticCorpus.generate(corpusSize, 13)) {
+            Map<String, Double> tf = new HashMap<>();
+            tokenizer.forEachTerm(a.title(), a.description(), normalizer.normalize(a.html()),
+                    (term, weight) -> tf.merge(term, (double) weight, Double::sum));
+            tf.keySet().forEach(t -> df.merge(t, 1, Integer::sum));
+            counts.add(tf);
+        }
+
+        vectors = new ArrayList<>(counts.size());
+        index = new HnswIndex(16, 100, 64);
+        for (int i = 0; i < counts.size(); i++) {
+            Map<String, Double> weights = counts.get(i);
+            weights.replaceAll((t, tf) -> tf * (Math.log((1.0 + corpusSize) / (1.0 + df.get(t))) + 1.0));
+            SparseVector v = SparseVector.of(weights, dictionary);
+            vectors.add(v);
+            index.insert(i, v);
+        }
+
+        int hits = 0, total = 0;
+        for (int q = 0; q < Math.min(200, corpusSize); q++) {
+            Set<Long> exact = new HashSet<>(bruteForce(q));
+            for (HnswIndex.Neighbor n : index.search(vectors.get(q), K, q)) {
+                if (exact.contains(n.key())) hits++;
+            }
+            total += exact.size();
+        }
+        double recall = (double) hits / total;
+        System.out.printf("HNSW recall@%d: %.3f%n", K, recall);
+        if (recall < 0.9) throw new IllegalStateException("HNSW recall too low: " + recall);
+    }
+
+    private List<Long> bruteForce(int query) {
+        SparseVector q = vectors.get(query);
+        PriorityQueue<long[]> top = new PriorityQueue<>(Comparator.comparingDouble(e -> Double.longBitsToDouble(e[1])));
+        for (int i = 0; i < vectors.size(); i++) {
+            if (i == query) continue;
+            top.add(new long[]{i, Double.doubleToLongBits(q.dot(vectors.get(i)))});
+            if (top.size() > K) top.poll();
+        }
+        return top.stream().map(e -> e[0]).toList();
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor> hnsw() {
+        int q = next++ % vectors.size();
+        return index.search(vectors.get(q), K, q);
+    }
+
+    @Benchmark
+    public List<Long> fullScan() {
+        return bruteForce(next++ % vectors.size());
+    }
+}
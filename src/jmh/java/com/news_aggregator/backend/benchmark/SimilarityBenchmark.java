@@ -0,0 +1,72 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.service.filters.*;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairwise similarity search over pre-vectorized synthetic corpora, per strategy.
+ * Vectors use TF-IDF with document frequencies taken from the corpus itself,
+ * matching what {@link CorpusStatsService} would hold for the same articles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class SimilarityBenchmark {
+
+    private static final double THRESHOLD = 0.5;
+    private static final long ARTICLE_SPACING_MILLIS = 10 * 60_000L;
+
+    @Param({"100", "1000", "10000"})
+    public int corpusSize;
+
+    @Param({AllPairsSearchStrategy.NAME, InvertedIndexSearchStrategy.NAME, LshSearchStrategy.NAME, TimeWindowSearchStrategy.NAME})
+    public String strategy;
+
+    private List<ArticleVector> vectors;
+    private SimilaritySearchStrategy search;
+
+    @Setup
+    public void setUp() {
+        TextNormalizerService normalizer = new TextNormalizerService();
+        ArticleTokenizer tokenizer = BenchmarkServices.tokenizer();
+        TermDictionary dictionary = new TermDictionary();
+        MinHashLshService lsh = new MinHashLshService(50, 2, 1, 0);
+        ParallelSimilarityEngine serial = new ParallelSimilarityEngine(1, 64);
+
+        List<List<String>> tokenized = new ArrayList<>();
+        Map<String, Integer> df = new HashMap<>();
+        for (SyntheticCorpus.Article a : SyntheticCorpus.generate(corpusSize, 11)) {
+            List<String> tokens = tokenizer.tokenize(tokenizer.fullText(a.title(), a.description(), normalizer.normalize(a.html())));
+            tokenized.add(tokens);
+            new HashSet<>(tokens).forEach(t -> df.merge(t, 1, Integer::sum));
+        }
+
+        vectors = new ArrayList<>(tokenized.size());
+        for (int i = 0; i < tokenized.size(); i++) {
+            Map<String, Double> weights = new HashMap<>();
+            for (String t : tokenized.get(i)) weights.merge(t, 1.0, Double::sum);
+            weights.replaceAll((t, tf) -> tf * (Math.log((1.0 + corpusSize) / (1.0 + df.get(t))) + 1.0));
+            // one article every 10 minutes, so a 48h window holds ~288 articles
+            vectors.add(new ArticleVector((long) i + 1, SparseVector.of(weights, dictionary), lsh.shingleHashes(tokenized.get(i)),
+                    i * ARTICLE_SPACING_MILLIS));
+        }
+
+        search = switch (strategy) {
+            case InvertedIndexSearchStrategy.NAME -> new InvertedIndexSearchStrategy();
+            case LshSearchStrategy.NAME -> new LshSearchStrategy(lsh, serial);
+            case TimeWindowSearchStrategy.NAME -> new TimeWindowSearchStrategy(48);
+            default -> new AllPairsSearchStrategy(serial);
+        };
+    }
+
+    @Benchmark
+    public List<TfidfSimilarityService.SimilarityResult> findSimilar() {
+        return search.findSimilar(vectors, THRESHOLD);
+    }
+}
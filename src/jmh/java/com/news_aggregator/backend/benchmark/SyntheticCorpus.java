@@ -0,0 +1,88 @@
+package com.news_aggregator.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic ESG-flavoured article corpus for benchmarks.
+ *
+ * Articles are grouped into stories of 1–5 related pieces that share a topic
+ * vocabulary, mixed with generic news filler. Content is Guardian-style HTML
+ * (paragraphs, links, entities) of a few hundred words; titles and descriptions
+ * are plain NewsAPI-style text.
+ */
+public final class SyntheticCorpus {
+
+    public record Article(long id, String title, String description, String html) {}
+
+    private static final String[] ESG_TERMS = {
+            "climate", "carbon", "emissions", "renewable", "solar", "wind", "battery", "grid",
+            "sustainability", "biodiversity", "pollution", "recycling", "net zero", "hydrogen",
+            "electric vehicle", "green finance", "ESG", "offshore", "drought", "wildfire",
+            "deforestation", "methane", "heatwave", "flood", "coal", "transition", "investors",
+            "regulation", "disclosure", "governance", "supply chain", "water", "ocean", "plastic"
+    };
+
+    private static final String[] FILLER = {
+            "the", "government", "said", "on", "Tuesday", "company", "announced", "plans", "to",
+            "new", "report", "shows", "that", "market", "year", "million", "people", "city",
+            "officials", "according", "analysts", "expected", "while", "however", "after", "minister",
+            "percent", "billion", "project", "local", "global", "industry", "statement", "week"
+    };
+
+    private SyntheticCorpus() {}
+
+    public static List<Article> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Article> articles = new ArrayList<>(size);
+        long id = 1;
+        while (articles.size() < size) {
+            // Each story draws its own small topic vocabulary
+            String[] topic = new String[6];
+            for (int t = 0; t < topic.length; t++) {
+                topic[t] = ESG_TERMS[random.nextInt(ESG_TERMS.length)] + (random.nextInt(4) == 0 ? " " + word(random) : "");
+            }
+            int storySize = 1 + random.nextInt(5);
+            for (int s = 0; s < storySize && articles.size() < size; s++) {
+                articles.add(new Article(id++,
+                        sentence(random, topic, 8),
+                        sentence(random, topic, 25),
+                        html(random, topic, 150 + random.nextInt(600))));
+            }
+        }
+        return articles;
+    }
+
+    private static String sentence(Random random, String[] topic, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) sb.append(' ');
+            sb.append(random.nextInt(3) == 0 ? topic[random.nextInt(topic.length)] : FILLER[random.nextInt(FILLER.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String html(Random random, String[] topic, int words) {
+        StringBuilder sb = new StringBuilder("<div class=\"content\">");
+        int written = 0;
+        while (written < words) {
+            int paragraph = 20 + random.nextInt(60);
+            sb.append("<p>").append(sentence(random, topic, paragraph));
+            if (random.nextInt(3) == 0) {
+                sb.append(" <a href=\"https://example.org/").append(random.nextInt(1000)).append("\">")
+                        .append(topic[random.nextInt(topic.length)]).append("</a>");
+            }
+            if (random.nextInt(4) == 0) sb.append(" &amp; ").append(FILLER[random.nextInt(FILLER.length)]).append(" &#8211; ");
+            sb.append(".</p>\n");
+            written += paragraph;
+        }
+        return sb.append("</div>").toString();
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[4 + random.nextInt(5)];
+        for (int i = 0; i < chars.length; i++) chars[i] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+}
@@ -0,0 +1,71 @@
+package com.news_aggregator.backend.benchmark;
+
+import com.news_aggregator.backend.service.filters.ArticleTokenizer;
+import com.news_aggregator.backend.service.filters.EsgFilterService;
+import com.news_aggregator.backend.service.filters.TextNormalizerService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-article ingest work over a whole synthetic corpus: HTML normalization,
+ * ESG filtering and Lucene tokenization. One op = the full corpus.
+ * Run with {@code -prof gc} (the profile default) to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TextPipelineBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int corpusSize;
+
+    private List<SyntheticCorpus.Article> corpus;
+    private List<String> normalized;
+    private final TextNormalizerService normalizer = new TextNormalizerService();
+    private final EsgFilterService esgFilter = BenchmarkServices.esgFilter();
+    private final ArticleTokenizer tokenizer = BenchmarkServices.tokenizer();
+
+    @Setup
+    public void setUp() {
+        corpus = SyntheticCorpus.generate(corpusSize, 7);
+        normalized = corpus.stream().map(a -> normalizer.normalize(a.html())).toList();
+    }
+
+    @Benchmark
+    public void normalizeHtml(Blackhole bh) {
+        for (SyntheticCorpus.Article a : corpus) {
+            bh.consume(normalizer.normalize(a.title()));
+            bh.consume(normalizer.normalize(a.description()));
+            bh.consume(normalizer.normalize(a.html()));
+        }
+    }
+
+    @Benchmark
+    public void esgFilter(Blackhole bh) {
+        for (int i = 0; i < corpus.size(); i++) {
+            SyntheticCorpus.Article a = corpus.get(i);
+            bh.consume(esgFilter.isEsgRelevant(a.title(), a.description(), normalized.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole bh) {
+        for (int i = 0; i < corpus.size(); i++) {
+            SyntheticCorpus.Article a = corpus.get(i);
+            bh.consume(tokenizer.tokenize(tokenizer.fullText(a.title(), a.description(), normalized.get(i))));
+        }
+    }
+
+    @Benchmark
+    public void streamFieldTerms(Blackhole bh) {
+        for (int i = 0; i < corpus.size(); i++) {
+            SyntheticCorpus.Article a = corpus.get(i);
+            tokenizer.forEachTerm(a.title(), a.description(), normalized.get(i), (term, weight) -> bh.consume(term));
+        }
+    }
+}
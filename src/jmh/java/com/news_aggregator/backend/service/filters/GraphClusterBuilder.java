@@ -0,0 +1,52 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder.Cluster;
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder.Relation;
+
+import java.util.*;
+
+/**
+ * The original adjacency-graph clustering: DFS over a {@code Map<Long, Set<Long>>}
+ * and a full re-scan of all relations per component (O(clusters × pairs)).
+ *
+ * No longer used by the export; kept next to the benchmarks (same package, outside the
+ * application jar) as the reference that {@link UnionFindClusterBuilder} is checked and
+ * benchmarked against.
+ */
+public final class GraphClusterBuilder {
+
+    private GraphClusterBuilder() {}
+
+    public static List<Cluster> build(long[] id1, long[] id2, double[] similarity, int count) {
+        Map<Long, Set<Long>> graph = new HashMap<>();
+        List<Relation> validPairs = new ArrayList<>();
+        for (int k = 0; k < count; k++) {
+            validPairs.add(new Relation(id1[k], id2[k], similarity[k]));
+            graph.computeIfAbsent(id1[k], x -> new HashSet<>()).add(id2[k]);
+            graph.computeIfAbsent(id2[k], x -> new HashSet<>()).add(id1[k]);
+        }
+
+        Set<Long> visited = new HashSet<>();
+        List<Cluster> clusters = new ArrayList<>();
+        for (Long id : graph.keySet()) {
+            if (visited.contains(id)) continue;
+
+            Set<Long> clusterIds = new HashSet<>();
+            Deque<Long> stack = new ArrayDeque<>(List.of(id));
+            while (!stack.isEmpty()) {
+                Long current = stack.pop();
+                if (!visited.add(current)) continue;
+                clusterIds.add(current);
+                for (Long nbr : graph.getOrDefault(current, Set.of())) {
+                    if (!visited.contains(nbr)) stack.push(nbr);
+                }
+            }
+
+            List<Relation> relations = validPairs.stream()
+                    .filter(p -> clusterIds.contains(p.id1()) && clusterIds.contains(p.id2()))
+                    .toList();
+            clusters.add(new Cluster(new ArrayList<>(clusterIds), relations));
+        }
+        return clusters;
+    }
+}
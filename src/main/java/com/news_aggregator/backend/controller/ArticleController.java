@@ -33,6 +33,13 @@ public class ArticleController {
     @Value("${articles.latest.maxLimit:50}")
     private int latestMaxLimit;
 
+    // 🔹 "related articles" limit
+    @Value("${articles.related.defaultLimit:5}")
+    private int relatedDefaultLimit;
+
+    @Value("${articles.related.maxLimit:20}")
+    private int relatedMaxLimit;
+
     // =====================================================
     // 🔹 Get Latest Articles (for homepage, highlights, etc.)
     // =====================================================
@@ -69,4 +76,19 @@ public class ArticleController {
                 categoryIds, sourceIds, keyword, date, page, pageSize, sort
         ));
     }
+
+    // =====================================================
+    // 🔹 Get Related Articles ("more like this")
+    // =====================================================
+    @GetMapping(value = "/{id}/related", produces = "application/json")
+    public ResponseEntity<List<ArticleDto>> getRelatedArticles(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        int effectiveLimit = (limit == null || limit <= 0)
+                ? relatedDefaultLimit
+                : Math.min(limit, relatedMaxLimit);
+
+        return ResponseEntity.ok(articleService.getRelatedArticles(id, effectiveLimit));
+    }
 }
@@ -37,6 +37,10 @@ public class Article {
     @Column(name = "insight_count")
     private Long insightCount = 0L;
 
+    // Weighted term frequencies of the synthesized text (see TermVectorCodec), written at synthesis time
+    @Column(name = "term_vector")
+    private byte[] termVector;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "article_sources",
@@ -103,4 +107,7 @@ public class Article {
     public Long getInsightCount() { return insightCount; }
     public long getInsightCountOrZero() { return insightCount != null ? insightCount : 0L; }
     public void setInsightCount(Long insightCount) { this.insightCount = insightCount; }
+
+    public byte[] getTermVector() { return termVector; }
+    public void setTermVector(byte[] termVector) { this.termVector = termVector; }
 }
@@ -0,0 +1,27 @@
+package com.news_aggregator.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Document frequency of a single analyzed term across all raw articles.
+ * Maintained incrementally at ingest time and used for IDF weighting.
+ */
+@Entity
+@Table(name = "corpus_terms")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorpusTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, columnDefinition = "TEXT")
+    private String term;
+
+    @Column(name = "doc_count", nullable = false)
+    private long docCount;
+}
@@ -0,0 +1,36 @@
+package com.news_aggregator.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A keyword or phrase used for ESG relevance scoring, with a weight per article field.
+ * Edited directly in the database; picked up by the periodic reload in EsgFilterService.
+ */
+@Entity
+@Table(name = "esg_terms")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EsgTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, columnDefinition = "TEXT")
+    private String term;
+
+    @Column(name = "title_weight", nullable = false)
+    private float titleWeight;
+
+    @Column(name = "description_weight", nullable = false)
+    private float descriptionWeight;
+
+    @Column(name = "content_weight", nullable = false)
+    private float contentWeight;
+
+    @Column(nullable = false)
+    private boolean enabled;
+}
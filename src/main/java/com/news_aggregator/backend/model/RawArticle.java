@@ -54,4 +54,11 @@ public class RawArticle {
     @Builder.Default
     @Column(nullable = false)
     private boolean processed = false;
+
+    // 64-bit SimHash of the normalized text, used for near-duplicate detection
+    private Long simhash;
+
+    // Weighted term frequencies keyed by corpus_terms.id (see TermVectorCodec), written once at ingest
+    @Column(name = "term_vector")
+    private byte[] termVector;
 }
@@ -1,6 +1,7 @@
 package com.news_aggregator.backend.repository;
 
 import com.news_aggregator.backend.model.Article;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -86,4 +87,26 @@ public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpec
             OffsetDateTime publishedAt,
             String sourceName
     );
+
+    /**
+     * Stored term vectors of articles published after the cutoff.
+     * Used to skip clusters that repeat a recently published story.
+     */
+    List<ArticleVectorView> findByPublishedAtAfterAndTermVectorIsNotNull(OffsetDateTime cutoff);
+
+    /**
+     * All stored term vectors; used to rebuild the related-article index at startup.
+     */
+    List<ArticleVectorView> findByTermVectorIsNotNull();
+
+    /**
+     * Articles without a stored term vector (published before vectors were stored), in id order
+     * after {@code afterId}; used to backfill the vectors page by page.
+     */
+    List<ArticleTextView> findByTermVectorIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.termVector = :termVector WHERE a.id = :articleId")
+    void updateTermVector(Long articleId, byte[] termVector);
 }
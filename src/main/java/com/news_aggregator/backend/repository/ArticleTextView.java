@@ -0,0 +1,12 @@
+package com.news_aggregator.backend.repository;
+
+/**
+ * Closed projection of {@link com.news_aggregator.backend.model.Article} with just the text
+ * a term vector is built from.
+ */
+public interface ArticleTextView {
+    Long getId();
+    String getTitle();
+    String getSummary();
+    String getContent();
+}
@@ -0,0 +1,10 @@
+package com.news_aggregator.backend.repository;
+
+/**
+ * Closed projection of {@link com.news_aggregator.backend.model.Article} with just the
+ * stored term vector, for similarity checks against published articles.
+ */
+public interface ArticleVectorView {
+    Long getId();
+    byte[] getTermVector();
+}
@@ -0,0 +1,69 @@
+package com.news_aggregator.backend.repository;
+
+import com.news_aggregator.backend.model.CorpusTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface CorpusTermRepository extends JpaRepository<CorpusTerm, Integer> {
+
+    /**
+     * Adds document counts for a set of distinct terms in one statement.
+     * Terms and counts are passed space-separated (analyzed tokens never contain spaces).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO corpus_terms (term, doc_count)
+        SELECT t.term, t.cnt
+        FROM unnest(string_to_array(:terms, ' '), CAST(string_to_array(:counts, ' ') AS bigint[])) AS t(term, cnt)
+        ON CONFLICT (term) DO UPDATE SET doc_count = corpus_terms.doc_count + EXCLUDED.doc_count
+    """, nativeQuery = true)
+    int addDocumentFrequencies(@Param("terms") String terms, @Param("counts") String counts);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO corpus_stats (id, document_count) VALUES (1, :documents)
+        ON CONFLICT (id) DO UPDATE SET document_count = corpus_stats.document_count + EXCLUDED.document_count
+    """, nativeQuery = true)
+    int addDocuments(@Param("documents") long documents);
+
+    /**
+     * [id, term] rows for the given space-separated terms. Passed as one parameter, so the
+     * lookup is not bound by PostgreSQL's bind parameter limit (an IN list of a full rebuild's
+     * vocabulary would be).
+     */
+    @Query(value = """
+        SELECT c.id, c.term FROM corpus_terms c
+        WHERE c.term = ANY(string_to_array(:terms, ' '))
+    """, nativeQuery = true)
+    List<Object[]> findIdsByTerms(@Param("terms") String terms);
+
+    /**
+     * Ids of the given space-separated terms in one statement. Terms not in the table yet are
+     * inserted with a zero document count, which weighs the same as an unseen term in IDF, so
+     * nothing is counted until the documents are actually stored. Returns [id, term] rows.
+     */
+    @Transactional
+    @Query(value = """
+        WITH input AS (SELECT DISTINCT unnest(string_to_array(:terms, ' ')) AS term),
+        inserted AS (
+            INSERT INTO corpus_terms (term, doc_count)
+            SELECT term, 0 FROM input ORDER BY term
+            ON CONFLICT (term) DO NOTHING
+            RETURNING id, term
+        )
+        SELECT id, term FROM inserted
+        UNION ALL
+        SELECT c.id, c.term FROM corpus_terms c JOIN input i ON i.term = c.term
+    """, nativeQuery = true)
+    List<Object[]> registerTerms(@Param("terms") String terms);
+
+    @Query(value = "SELECT COALESCE((SELECT document_count FROM corpus_stats WHERE id = 1), 0)", nativeQuery = true)
+    long findDocumentCount();
+}
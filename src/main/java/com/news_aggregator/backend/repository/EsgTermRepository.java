@@ -0,0 +1,11 @@
+package com.news_aggregator.backend.repository;
+
+import com.news_aggregator.backend.model.EsgTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EsgTermRepository extends JpaRepository<EsgTerm, Integer> {
+
+    List<EsgTerm> findByEnabledTrue();
+}
@@ -0,0 +1,104 @@
+package com.news_aggregator.backend.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news_aggregator.backend.model.RawArticle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts fetched raw articles in one JDBC batch per page.
+ *
+ * {@code RawArticle} ids are IDENTITY, which Hibernate cannot batch, so {@code rawRepo.save}
+ * costs one INSERT round-trip per article. Here the ids are taken from the column's sequence
+ * in a single query up front and all rows go out in one {@code batchUpdate}, which the
+ * PostgreSQL driver turns into multi-row INSERTs ({@code reWriteBatchedInserts=true}).
+ * Backfilled term vectors go out the same way, one batch per page.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RawArticleBatchWriter {
+
+    private static final String INSERT = """
+        INSERT INTO raw_articles (id, api_source, title, description, content, url, image_url, source_name,
+                                  published_at, fetched_at, raw_json, processed, simhash, term_vector)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?)
+    """;
+
+    private static final String NEXT_IDS = """
+        SELECT nextval(pg_get_serial_sequence('raw_articles', 'id')) FROM generate_series(1, ?)
+    """;
+
+    private static final String UPDATE_TERM_VECTOR = "UPDATE raw_articles SET term_vector = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 🔹 Inserts all articles in one batch and sets their ids.
+     * Either every row is inserted or none (the batch runs in one transaction).
+     */
+    @Transactional
+    public void insertAll(List<RawArticle> articles) {
+        if (articles.isEmpty()) return;
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, articles.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Object[]> rows = new ArrayList<>(articles.size());
+        for (int i = 0; i < articles.size(); i++) {
+            RawArticle raw = articles.get(i);
+            rows.add(new Object[]{
+                    ids.get(i),
+                    raw.getApiSource(),
+                    raw.getTitle(),
+                    raw.getDescription(),
+                    raw.getContent(),
+                    raw.getUrl(),
+                    raw.getImageUrl(),
+                    raw.getSourceName(),
+                    raw.getPublishedAt(),
+                    raw.getFetchedAt() != null ? raw.getFetchedAt() : now,
+                    toJson(raw),
+                    raw.isProcessed(),
+                    raw.getSimhash(),
+                    raw.getTermVector()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, rows, new int[]{
+                Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE,
+                Types.VARCHAR, Types.BOOLEAN, Types.BIGINT, Types.BINARY
+        });
+
+        for (int i = 0; i < articles.size(); i++) {
+            articles.get(i).setId(ids.get(i));
+        }
+    }
+
+    /** 🔹 Stores term vectors of already saved articles (article id → encoded vector) in one batch */
+    @Transactional
+    public void updateTermVectors(Map<Long, byte[]> termVectors) {
+        if (termVectors.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(termVectors.size());
+        termVectors.forEach((id, termVector) -> rows.add(new Object[]{termVector, id}));
+        jdbcTemplate.batchUpdate(UPDATE_TERM_VECTOR, rows, new int[]{Types.BINARY, Types.BIGINT});
+    }
+
+    private String toJson(RawArticle raw) {
+        if (raw.getRawJson() == null) return null;
+        try {
+            return objectMapper.writeValueAsString(raw.getRawJson());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Raw JSON of " + raw.getUrl() + " is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.news_aggregator.backend.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Closed projection of {@link com.news_aggregator.backend.model.RawArticle} with just the
+ * fields the cluster export needs — notably without the {@code rawJson} payload.
+ */
+public interface RawArticleClusterView {
+    Long getId();
+    String getApiSource();
+    String getSourceName();
+    String getTitle();
+    String getDescription();
+    String getContent();
+    String getUrl();
+    String getImageUrl();
+    OffsetDateTime getPublishedAt();
+    OffsetDateTime getFetchedAt();
+}
@@ -2,6 +2,8 @@ package com.news_aggregator.backend.repository;
 
 import com.news_aggregator.backend.model.RawArticle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 
@@ -10,6 +12,50 @@ public interface RawArticleRepository extends JpaRepository<RawArticle, Long> {
     boolean existsByTitleAndSourceName(String title, String sourceName);
     java.util.List<RawArticle> findByProcessedFalse();
     long countByProcessedFalse();
-    
+    java.util.List<RawArticleClusterView> findByIdIn(java.util.Collection<Long> ids);
+
+    /** Processed raw articles fetched after the cutoff, oldest first; used to rebuild the live cluster index */
+    java.util.List<RawArticleVectorView> findByProcessedTrueAndFetchedAtAfterOrderByIdAsc(java.time.OffsetDateTime cutoff);
+
+    /** Raw articles saved before term vectors were stored, in id order after {@code afterId} (for the backfill) */
+    java.util.List<RawArticleClusterView> findByTermVectorIsNullAndIdGreaterThanOrderByIdAsc(
+            Long afterId, org.springframework.data.domain.Limit limit);
+
+    /**
+     * SimHash fingerprints that share at least one 16-bit band with any of a page's fingerprints.
+     * Band i of every page fingerprint arrives in {@code bi}, space-joined; each band expression
+     * is backed by its own index (see V3 migration).
+     */
+    @Query(value = """
+        SELECT DISTINCT simhash FROM raw_articles
+        WHERE ((simhash >> 48) & 65535) = ANY(CAST(string_to_array(:b0, ' ') AS int[]))
+           OR ((simhash >> 32) & 65535) = ANY(CAST(string_to_array(:b1, ' ') AS int[]))
+           OR ((simhash >> 16) & 65535) = ANY(CAST(string_to_array(:b2, ' ') AS int[]))
+           OR (simhash & 65535) = ANY(CAST(string_to_array(:b3, ' ') AS int[]))
+    """, nativeQuery = true)
+    java.util.List<Long> findSimhashesSharingBand(@Param("b0") String b0, @Param("b1") String b1,
+                                                  @Param("b2") String b2, @Param("b3") String b3);
+
+    /**
+     * Which of the given URLs are already stored. The URLs arrive as one string joined with
+     * the unit separator chr(31), like the batch upserts in CorpusTermRepository.
+     */
+    @Query(value = """
+        SELECT url FROM raw_articles
+        WHERE url = ANY(string_to_array(:urls, chr(31)))
+    """, nativeQuery = true)
+    java.util.List<String> findExistingUrls(@Param("urls") String urls);
+
+    /**
+     * Which of the given (title, source_name) pairs are already stored; both lists joined with
+     * chr(31), pair i being titles[i] / sources[i]. Returns [title, source_name] rows.
+     */
+    @Query(value = """
+        SELECT title, source_name FROM raw_articles
+        WHERE (title, source_name) IN (
+            SELECT * FROM unnest(string_to_array(:titles, chr(31)), string_to_array(:sources, chr(31)))
+        )
+    """, nativeQuery = true)
+    java.util.List<Object[]> findExistingTitles(@Param("titles") String titles, @Param("sources") String sources);
 }
 
@@ -0,0 +1,14 @@
+package com.news_aggregator.backend.repository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Closed projection of {@link com.news_aggregator.backend.model.RawArticle} with just the
+ * stored term vector and timestamps, for rebuilding the live cluster index.
+ */
+public interface RawArticleVectorView {
+    Long getId();
+    byte[] getTermVector();
+    OffsetDateTime getPublishedAt();
+    OffsetDateTime getFetchedAt();
+}
@@ -8,13 +8,21 @@ import com.news_aggregator.backend.repository.ArticleRepository;
 import com.news_aggregator.backend.repository.RawArticleRepository;
 import com.news_aggregator.backend.service.ai.ArticlePromptBuilderService;
 import com.news_aggregator.backend.service.ai.ArticleSynthesisService;
+import com.news_aggregator.backend.service.filters.ArticleClusterExport;
 import com.news_aggregator.backend.service.filters.ClusteredTfidfExportService;
+import com.news_aggregator.backend.service.filters.CorpusStatsService;
+import com.news_aggregator.backend.service.filters.LiveClusterIndex;
+import com.news_aggregator.backend.service.filters.PublishedArticleDeduplicator;
+import com.news_aggregator.backend.service.filters.SimilaritySearchStrategy;
+import com.news_aggregator.backend.service.filters.SparseVector;
 import com.news_aggregator.backend.service.filters.TfidfSimilarityService;
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,10 +41,24 @@ public class ArticleOrchestrationService {
     private final ObjectMapper objectMapper;
     private final SynthesisState synthesisState;
     private final ArticleRepository articleRepository;
+    private final LiveClusterIndex liveClusterIndex;
+    private final List<SimilaritySearchStrategy> similaritySearchStrategies;
+    private final PublishedArticleDeduplicator publishedArticleDeduplicator;
+    private final CorpusStatsService corpusStats;
 
     @Value("${clustering.tfidf.threshold:0.5}")
     private double tfidfThreshold;
 
+    @Value("${clustering.strategy:all-pairs}")
+    private String similarityStrategyName;
+
+    private SimilaritySearchStrategy similarityStrategy() {
+        return similaritySearchStrategies.stream()
+                .filter(s -> s.getName().equalsIgnoreCase(similarityStrategyName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown clustering.strategy: " + similarityStrategyName));
+    }
+
     public ArticleContentDto getArticleContent(Long articleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
@@ -48,6 +70,11 @@ public class ArticleOrchestrationService {
             System.out.println("Synthesis is already in progress. Skipping orchestration.");
             return;
         }
+        if (!corpusStats.ensureLoaded()) {
+            // Without document frequencies every term weighs the same; the articles wait for the next run
+            System.out.println("⚠️ Corpus stats are not loaded. Skipping orchestration.");
+            return;
+        }
 
         try {
             synthesisState.setSynthesisInProgress(true);
@@ -60,28 +87,51 @@ public class ArticleOrchestrationService {
                             a.getId(),
                             a.getTitle(),
                             a.getDescription(),
-                            a.getContent()
+                            a.getContent(),
+                            a.getTermVector(),
+                            a.getPublishedAt() != null ? a.getPublishedAt() : a.getFetchedAt()
                     ))
                     .toList();
 
-            // Step 2: Generate similarity scores
-            List<TfidfSimilarityService.SimilarityResult> similarityPairs = tfidfSimilarityService.findSimilarArticles(articleList, tfidfThreshold);
-            List<Map<String, Object>> tfidfPairs = new ArrayList<>();
-            for (TfidfSimilarityService.SimilarityResult p : similarityPairs) {
-                tfidfPairs.add(Map.of(
-                        "id1", p.id1(),
-                        "id2", p.id2(),
-                        "similarity", String.format("%.3f", p.similarity())
-                ));
+            ArticleClusterExport clusteredData;
+            Map<Long, LiveClusterIndex.LiveCluster> liveClustersByPrimary = new HashMap<>();
+
+            if (liveClusterIndex.isEnabled()) {
+                // Step 2+3 (incremental): attach new articles to live clusters by centroid similarity
+                List<TfidfSimilarityService.ArticleVector> vectors = articleList.stream()
+                        .map(tfidfSimilarityService::vectorize)
+                        .toList();
+                List<LiveClusterIndex.LiveCluster> updated = liveClusterIndex.assign(vectors, tfidfThreshold);
+                System.out.printf("🧲 Incremental clustering: %d articles → %d updated clusters (%d live)%n",
+                        vectors.size(), updated.size(), liveClusterIndex.size());
+
+                List<UnionFindClusterBuilder.Cluster> components = new ArrayList<>();
+                for (LiveClusterIndex.LiveCluster cluster : updated) {
+                    components.add(new UnionFindClusterBuilder.Cluster(cluster.getArticleIds(), cluster.relations(tfidfThreshold)));
+                    liveClustersByPrimary.put(cluster.getPrimaryArticleId(), cluster);
+                }
+                clusteredData = clusteredTfidfExportService.buildClusterExport(components, tfidfThreshold);
+            } else {
+                // Step 2: Generate similarity scores
+                List<TfidfSimilarityService.SimilarityResult> similarityPairs = tfidfSimilarityService.findSimilarArticles(articleList, tfidfThreshold, similarityStrategy());
+
+                // Step 3: Build article clusters
+                clusteredData = clusteredTfidfExportService.buildClusteredExport(similarityPairs, tfidfThreshold);
             }
 
-            // Step 3: Build article clusters
-            Map<String, Object> clusteredData = clusteredTfidfExportService.buildClusteredExport(tfidfPairs, tfidfThreshold);
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> clusters = (List<Map<String, Object>>) clusteredData.get("clusters");
+            List<ArticleClusterExport.Cluster> clusters = new ArrayList<>(clusteredData.clusters());
+
+            // Step 3b: Drop clusters that repeat a recently published story
+            int skippedAsPublished = skipPublishedDuplicates(clusters, articleList, liveClustersByPrimary);
 
             if (clusters.isEmpty()) {
                 System.out.println("No new clusters to process.");
+                if (liveClusterIndex.isEnabled() || skippedAsPublished > 0) {
+                    // Singletons already live in the index (rebuilt from processed articles after a
+                    // restart) and will be picked up by later matches; skipped clusters are covered
+                    // by their published article
+                    markProcessed(rawArticles);
+                }
                 return;
             }
 
@@ -93,13 +143,18 @@ public class ArticleOrchestrationService {
 
             // Step 5: Save the synthesized articles
             List<Map<String, Object>> synthesizedArticles = objectMapper.readValue(geminiResponse, new com.fasterxml.jackson.core.type.TypeReference<List<Map<String, Object>>>() {});
-            articleService.saveSynthesizedArticles(synthesizedArticles);
+            Map<Long, Long> publishedByPrimary = new HashMap<>();
+            liveClustersByPrimary.forEach((primaryId, cluster) -> {
+                if (cluster.getPublishedArticleId() != null) publishedByPrimary.put(primaryId, cluster.getPublishedArticleId());
+            });
+            Map<Long, Article> saved = articleService.saveSynthesizedArticles(synthesizedArticles, publishedByPrimary);
+            saved.forEach((primaryId, article) -> {
+                LiveClusterIndex.LiveCluster cluster = liveClustersByPrimary.get(primaryId);
+                if (cluster != null) liveClusterIndex.markPublished(cluster, article.getId());
+            });
 
             // Step 6: Mark all articles that were part of the TF-IDF check as processed
-            for (RawArticle rawArticle : rawArticles) {
-                rawArticle.setProcessed(true);
-            }
-            rawArticleRepository.saveAll(rawArticles);
+            markProcessed(rawArticles);
 
             System.out.println("✅ Article orchestration finished successfully.");
 
@@ -110,4 +165,55 @@ public class ArticleOrchestrationService {
             synthesisState.setSynthesisInProgress(false);
         }
     }
+
+    /**
+     * Removes clusters whose centroid matches an article published within the dedupe window.
+     * In incremental mode the live cluster is attached to that article, so later growth of the
+     * story updates it in place; clusters already published are left alone for the same reason.
+     *
+     * @return number of clusters skipped
+     */
+    private int skipPublishedDuplicates(List<ArticleClusterExport.Cluster> clusters,
+                                        List<TfidfSimilarityService.ArticleMinimal> articleList,
+                                        Map<Long, LiveClusterIndex.LiveCluster> liveClustersByPrimary) {
+        if (!publishedArticleDeduplicator.isEnabled() || clusters.isEmpty()) return 0;
+
+        Map<Long, TfidfSimilarityService.ArticleMinimal> articlesById = new HashMap<>();
+        for (TfidfSimilarityService.ArticleMinimal a : articleList) articlesById.put(a.id(), a);
+
+        Map<Long, SparseVector> centroids = new HashMap<>();
+        for (ArticleClusterExport.Cluster cluster : clusters) {
+            Long primaryId = cluster.primaryArticleId();
+            LiveClusterIndex.LiveCluster live = liveClustersByPrimary.get(primaryId);
+            if (live != null) {
+                if (live.getPublishedArticleId() == null) centroids.put(primaryId, live.getCentroid());
+                continue;
+            }
+            List<SparseVector> members = new ArrayList<>();
+            for (Long id : cluster.relatedArticleIds()) {
+                TfidfSimilarityService.ArticleMinimal article = articlesById.get(id);
+                if (article != null) members.add(tfidfSimilarityService.vectorize(article).vector());
+            }
+            centroids.put(primaryId, SparseVector.centroid(members));
+        }
+
+        Map<Long, Long> matches = publishedArticleDeduplicator.findPublishedMatches(centroids);
+        matches.forEach((primaryId, articleId) -> {
+            LiveClusterIndex.LiveCluster live = liveClustersByPrimary.get(primaryId);
+            if (live != null) liveClusterIndex.markPublished(live, articleId);
+        });
+        int total = clusters.size();
+        clusters.removeIf(c -> matches.containsKey(c.primaryArticleId()));
+
+        System.out.printf("🧹 Published-article dedupe: skipped %d of %d clusters (similarity ≥ %.2f within %dh)%n",
+                matches.size(), total, publishedArticleDeduplicator.getThreshold(), publishedArticleDeduplicator.getWindowHours());
+        return matches.size();
+    }
+
+    private void markProcessed(List<RawArticle> rawArticles) {
+        for (RawArticle rawArticle : rawArticles) {
+            rawArticle.setProcessed(true);
+        }
+        rawArticleRepository.saveAll(rawArticles);
+    }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import com.news_aggregator.backend.model.Category;
 import com.news_aggregator.backend.model.Source;
 import com.news_aggregator.backend.model.User;
 import com.news_aggregator.backend.repository.*;
+import com.news_aggregator.backend.service.filters.CorpusStatsService;
+import com.news_aggregator.backend.service.filters.RelatedArticleIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
@@ -29,6 +31,8 @@ public class ArticleService {
     private final InsightService insightService;
     private final CategoryRepository categoryRepository;
     private final SourceRepository sourceRepository;
+    private final CorpusStatsService corpusStats;
+    private final RelatedArticleIndex relatedArticleIndex;
 
     @Value("${feed.hoursWindow}")
     private int feedHoursWindow;
@@ -131,6 +135,22 @@ public class ArticleService {
         );
     }
 
+    /**
+     * Most similar published articles ("more like this"), best first.
+     */
+    public List<ArticleDto> getRelatedArticles(Long articleId, int limit) {
+        List<Long> ids = relatedArticleIndex.related(articleId, limit);
+        if (ids.isEmpty()) return Collections.emptyList();
+
+        Map<Long, Article> byId = articleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Article::getId, a -> a));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(article -> mapToDto(article, null))
+                .toList();
+    }
+
     public List<ArticleDto> getForYouFeed(UserDetails userDetails) {
         User user = getUser(userDetails);
         List<Long> preferredCategoryIds = user.getPreferredCategories().stream().map(Category::getId).toList();
@@ -220,12 +240,32 @@ public class ArticleService {
     }
 
     public void saveSynthesizedArticles(List<Map<String, Object>> articles) {
+        saveSynthesizedArticles(articles, Map.of());
+    }
+
+    /**
+     * Saves synthesized articles. When the primary raw article id returned by the model
+     * maps to an already published article, that article is updated in place instead
+     * of inserting a near-duplicate row.
+     *
+     * @param articles           synthesized articles as returned by the model
+     * @param existingArticleIds primary raw article id → published article id
+     * @return saved articles keyed by primary raw article id
+     */
+    public Map<Long, Article> saveSynthesizedArticles(List<Map<String, Object>> articles,
+                                                      Map<Long, Long> existingArticleIds) {
+        Map<Long, Article> saved = new LinkedHashMap<>();
         for (Map<String, Object> articleMap : articles) {
-            Article article = new Article();
+            Long primaryId = articleMap.get("id") instanceof Number n ? n.longValue() : null;
+            Long existingId = primaryId != null ? existingArticleIds.get(primaryId) : null;
+            Article article = existingId != null
+                    ? articleRepository.findById(existingId).orElseGet(Article::new)
+                    : new Article();
             article.setTitle((String) articleMap.get("title"));
             article.setSummary((String) articleMap.get("summary"));
             article.setContent((String) articleMap.get("content"));
             article.setImageUrl((String) articleMap.get("image_url"));
+            article.setTermVector(corpusStats.termVector(article.getTitle(), article.getSummary(), article.getContent()));
 
             try {
                 String publishedAtStr = (String) articleMap.get("published_at");
@@ -254,6 +294,9 @@ public class ArticleService {
             }
 
             articleRepository.save(article);
+            relatedArticleIndex.addAfterCommit(article.getId(), article.getTermVector());
+            if (primaryId != null) saved.put(primaryId, article);
         }
+        return saved;
     }
 }
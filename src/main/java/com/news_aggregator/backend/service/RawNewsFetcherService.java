@@ -1,10 +1,23 @@
 package com.news_aggregator.backend.service;
 
 import com.news_aggregator.backend.service.fetchers.RawNewsSourceFetcher;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -12,16 +25,118 @@ public class RawNewsFetcherService {
 
     private final List<RawNewsSourceFetcher> fetchers; // auto-injected
 
+    /** One virtual thread per source: fetchers mostly wait on HTTP, sleeps and the database */
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fetch-", 0).factory());
+
+    @Value("${fetching.source-timeout-seconds:300}")
+    private long sourceTimeoutSeconds;
+
+    @Value("${fetching.cancel-grace-seconds:30}")
+    private long cancelGraceSeconds;
+
+    public enum Status { COMPLETED, FAILED, TIMED_OUT }
+
+    /** Outcome of one source in a fetch cycle */
+    public record SourceFetchSummary(String source, Status status, int saved, long durationMs, String error) {}
+
     /**
-     * Fetches articles from all registered fetchers.
+     * Fetches articles from all registered fetchers concurrently.
+     * A source that fails or runs past {@code fetching.source-timeout-seconds} is reported
+     * without holding up the others. A timed-out source is asked to stop after its current
+     * page, so a page being written is never cut off; only one still running after
+     * {@code fetching.cancel-grace-seconds} more is interrupted.
+     *
      * @param perSourceLimit number of articles to save from each source
+     * @return one summary per source, in fetcher order
      */
-    public void fetchFromAllSources(int perSourceLimit) {
-        int totalSaved = 0;
+    public List<SourceFetchSummary> fetchFromAllSources(int perSourceLimit) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(sourceTimeoutSeconds);
+        long graceDeadline = deadline + TimeUnit.SECONDS.toNanos(cancelGraceSeconds);
+        // Every source shares the deadline, so one flag stops all that are still running
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Map<String, Future<SourceFetchSummary>> running = new LinkedHashMap<>();
+        Map<String, AtomicInteger> progress = new LinkedHashMap<>();
         for (RawNewsSourceFetcher fetcher : fetchers) {
             System.out.printf("🚀 Fetching from source: %s%n", fetcher.getSourceName());
-            totalSaved += fetcher.fetchArticles(perSourceLimit).size();
+            AtomicInteger saved = new AtomicInteger();
+            progress.put(fetcher.getSourceName(), saved);
+            running.put(fetcher.getSourceName(), executor.submit(() -> fetch(fetcher, perSourceLimit, saved, cancelled)));
+        }
+
+        List<SourceFetchSummary> summaries = new ArrayList<>(running.size());
+        running.forEach((source, future) -> summaries.add(
+                await(source, future, progress.get(source), cancelled, start, deadline, graceDeadline)));
+
+        int totalSaved = 0;
+        for (SourceFetchSummary s : summaries) {
+            totalSaved += s.saved();
+            System.out.printf("   • %-10s %-9s saved %3d in %6d ms%s%n", s.source(), s.status(), s.saved(), s.durationMs(),
+                    s.error() != null ? " — " + s.error() : "");
+        }
+        System.out.printf("✅ All sources complete — Total Saved: %d in %d ms%n",
+                totalSaved, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return summaries;
+    }
+
+    private static SourceFetchSummary fetch(RawNewsSourceFetcher fetcher, int limit, AtomicInteger saved,
+                                            AtomicBoolean cancelled) {
+        long start = System.nanoTime();
+        try {
+            fetcher.fetchArticles(limit, saved, cancelled);
+            return new SourceFetchSummary(fetcher.getSourceName(), Status.COMPLETED, saved.get(), elapsedMs(start), null);
+        } catch (Exception e) {
+            System.out.printf("⚠️ [%s] Fetch failed: %s%n", fetcher.getSourceName(), e.getMessage());
+            return new SourceFetchSummary(fetcher.getSourceName(), Status.FAILED, saved.get(), elapsedMs(start), e.getMessage());
+        }
+    }
+
+    /** Waits for a source; if it is cut short, {@code saved} still counts the pages it committed */
+    private SourceFetchSummary await(String source, Future<SourceFetchSummary> future, AtomicInteger saved,
+                                     AtomicBoolean cancelled, long start, long deadline, long graceDeadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancelled.set(true);
+            System.out.printf("⏱ [%s] Timed out after %d s — stopping after the current page%n", source, sourceTimeoutSeconds);
+            stopWithinGrace(source, future, graceDeadline);
+            return new SourceFetchSummary(source, Status.TIMED_OUT, saved.get(), elapsedMs(start),
+                    "timed out after " + sourceTimeoutSeconds + " s");
+        } catch (ExecutionException e) {
+            return new SourceFetchSummary(source, Status.FAILED, saved.get(), elapsedMs(start), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new SourceFetchSummary(source, Status.FAILED, saved.get(), elapsedMs(start), "interrupted");
         }
-        System.out.printf("✅ All sources complete — Total Saved: %d%n", totalSaved);
+    }
+
+    /**
+     * Gives a cancelled source until the grace deadline to finish its page, then interrupts it.
+     * Interrupting is the last resort: it can break off a JDBC call in the middle of a page write.
+     */
+    private void stopWithinGrace(String source, Future<SourceFetchSummary> future, long graceDeadline) {
+        try {
+            future.get(Math.max(0, graceDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            System.out.printf("⏱ [%s] Still running after %d s grace — interrupted%n", source, cancelGraceSeconds);
+        } catch (ExecutionException e) {
+            // failed while stopping; the timeout is what gets reported
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 }
@@ -1,6 +1,7 @@
 package com.news_aggregator.backend.service.ai;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.news_aggregator.backend.service.filters.ArticleClusterExport;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,7 +16,7 @@ public class ArticlePromptBuilderService {
     private final ObjectMapper mapper;
 
     public String buildEngineeredPrompt(
-            List<Map<String, Object>> clusters,
+            List<ArticleClusterExport.Cluster> clusters,
             List<Map<String, Object>> availableCategories,
             List<Map<String, Object>> availableSources
     ) {
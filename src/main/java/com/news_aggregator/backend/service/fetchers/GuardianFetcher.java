@@ -1,9 +1,10 @@
 package com.news_aggregator.backend.service.fetchers;
 
 import com.news_aggregator.backend.model.RawArticle;
-import com.news_aggregator.backend.repository.RawArticleRepository;
 import com.news_aggregator.backend.service.filters.EsgFilterService;
+import com.news_aggregator.backend.service.filters.SimHashService;
 import com.news_aggregator.backend.service.filters.TextNormalizerService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -16,6 +17,8 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Component
@@ -23,9 +26,12 @@ import java.util.stream.Collectors;
 public class GuardianFetcher implements RawNewsSourceFetcher {
 
     private final RestTemplate restTemplate;
-    private final RawArticleRepository rawRepo;
     private final EsgFilterService filter;
     private final TextNormalizerService normalizer; // ✅ inject the text normalizer
+    private final SimHashService simHash;
+    private final ProviderRateLimiter rateLimiter;
+    private final RawArticleDeduplicator deduplicator;
+    private final RawArticlePageWriter pageWriter;
 
     @Value("${guardian.url}")
     private String baseUrl;
@@ -33,121 +39,206 @@ public class GuardianFetcher implements RawNewsSourceFetcher {
     @Value("${guardian.apiKey}")
     private String apiKey;
 
+    @Value("${fetching.prefetch-pages:2}")
+    private int prefetchPages;
+
+    @Value("${guardian.rate-limit.requests-per-second:1}")
+    private double requestsPerSecond;
+
+    @Value("${guardian.rate-limit.burst:1}")
+    private int burst;
+
+    @Value("${guardian.rate-limit.daily-quota:0}")
+    private long dailyQuota;
+
+    private ProviderRateLimiter.Bucket rateLimit;
+
+    private static final int MAX_PAGES = 10;
+
+    @PostConstruct
+    void initRateLimit() {
+        rateLimit = rateLimiter.bucket(getSourceName(), requestsPerSecond, burst, dailyQuota);
+    }
+
     @Override
     public String getSourceName() {
         return "The Guardian";
     }
 
     @Override
-    public List<RawArticle> fetchArticles(int limit) {
+    public List<RawArticle> fetchArticles(int limit, AtomicInteger progress, AtomicBoolean cancelled) {
         List<RawArticle> savedArticles = new ArrayList<>();
         int savedCount = 0, duplicateCount = 0;
-        int page = 1;
 
-        outer:
-        while (page <= 10) {
-            try {
-                String url = String.format(
-                        "%s/search?q=climate OR sustainability OR environment&show-fields=bodyText,headline,trailText,thumbnail,firstPublicationDate,byline&api-key=%s&page=%d&page-size=50",
-                        baseUrl, apiKey, page
-                );
-
-                ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                        url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {}
-                );
-
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) break;
+        try (PagePrefetcher<Object> pages =
+                     new PagePrefetcher<>(getSourceName(), MAX_PAGES, prefetchPages, this::fetchPage)) {
+            for (PagePrefetcher.Page<Object> page; (page = pages.next()) != null; ) {
+                // 🔹 Cancelled by RawNewsFetcherService (per-source timeout): stop between pages
+                if (cancelled.get()) {
+                    System.out.println("⏹ [Guardian] Cancelled");
+                    break;
+                }
+                List<Item> items = parseItems(page.items());
+                RawArticleDeduplicator.PageDuplicates duplicates;
+                try {
+                    duplicates = deduplicator.forPage(
+                            items.stream().map(Item::url).toList(),
+                            items.stream().map(i -> new RawArticleDeduplicator.TitleKey(i.title(), getSourceName())).toList());
+                } catch (Exception e) {
+                    System.out.println("⚠️ [Guardian] Duplicate check failed on page " + page.number() + ": " + e.getMessage());
+                    continue;
+                }
 
-                Map<String, Object> resp = response.getBody();
-                Object responseNode = resp.get("response");
-                if (!(responseNode instanceof Map<?, ?> responseData)) break;
+                // 🔹 Exact duplicates and ESG filter first, then one near-duplicate lookup for what is left
+                List<Item> candidates = new ArrayList<>();
+                List<Long> fingerprints = new ArrayList<>();
+                for (Item parsed : items) {
+                    try {
+                        // 🔹 Skip exact duplicates (already in DB, or repeated on this page)
+                        if (duplicates.isDuplicate(parsed.url(), parsed.title(), getSourceName())) {
+                            duplicateCount++;
+                            continue;
+                        }
 
-                Object resultsNode = responseData.get("results");
-                if (!(resultsNode instanceof List<?> rawResults)) break;
+                        if (!filter.isEsgRelevant(parsed.title(), parsed.description(), parsed.content())) continue;
 
-                for (Object rawItem : rawResults) {
-                    if (!(rawItem instanceof Map<?, ?> rawMap)) {
-                        continue;
+                        candidates.add(parsed);
+                        fingerprints.add(simHash.compute(parsed.title(), parsed.description(), parsed.content()));
+                    } catch (Exception e) {
+                        System.out.println("⚠️ Guardian duplicate check failed: " + e.getMessage());
                     }
+                }
 
-                    Map<String, Object> item = rawMap.entrySet().stream()
-                            .filter(entry -> entry.getKey() instanceof String)
-                            .collect(Collectors.toMap(
-                                    entry -> (String) entry.getKey(),
-                                    Map.Entry::getValue
-                            ));
+                SimHashService.PageNearDuplicates nearDuplicates;
+                try {
+                    nearDuplicates = simHash.forPage(fingerprints);
+                } catch (Exception e) {
+                    System.out.println("⚠️ [Guardian] Near-duplicate check failed on page " + page.number() + ": " + e.getMessage());
+                    continue;
+                }
 
+                List<RawArticlePageWriter.Pending> pending = new ArrayList<>();
+                for (int c = 0; c < candidates.size(); c++) {
                     try {
-                        String webUrl = (String) item.get("webUrl");
-                        Object fieldsNode = item.get("fields");
-                        Map<String, Object> fields = null;
-                        if (fieldsNode instanceof Map<?, ?> rawFields) {
-                            fields = rawFields.entrySet().stream()
-                                    .filter(entry -> entry.getKey() instanceof String)
-                                    .collect(Collectors.toMap(
-                                            entry -> (String) entry.getKey(),
-                                            Map.Entry::getValue
-                                    ));
-                        }
+                        Item parsed = candidates.get(c);
+                        long fingerprint = fingerprints.get(c);
+                        Map<String, Object> item = parsed.json();
+                        String publishedAt = parsed.publishedAt();
 
-                        String title = fields != null ? (String) fields.get("headline") : null;
-                        String description = fields != null ? (String) fields.get("trailText") : null;
-                        String content = fields != null ? (String) fields.get("bodyText") : null;
-                        String imageUrl = fields != null ? (String) fields.get("thumbnail") : null;
-                        String publishedAt = fields != null ? (String) fields.get("firstPublicationDate") : null;
-
-                        // 🔹 Normalize
-                        title = normalizer.normalize(title);
-                        description = normalizer.normalize(description);
-                        content = normalizer.normalize(content);
-
-                        // 🔹 Skip duplicates already in DB
-                        if (webUrl != null && rawRepo.existsByUrl(webUrl)) {
-                            duplicateCount++;
-                            continue;
-                        }
-                        if (title != null && rawRepo.existsByTitleAndSourceName(title, getSourceName())) {
+                        // 🔹 Skip near-duplicates (syndicated copies with slightly different text)
+                        if (nearDuplicates.isNearDuplicate(fingerprint)) {
                             duplicateCount++;
                             continue;
                         }
 
-                        if (!filter.isEsgRelevant(title, description, content)) continue;
-
                         RawArticle raw = new RawArticle();
                         raw.setApiSource(getSourceName());
-                        raw.setTitle(title);
-                        raw.setDescription(description);
-                        raw.setContent(content);
-                        raw.setUrl(webUrl);
-                        raw.setImageUrl(imageUrl);
+                        raw.setTitle(parsed.title());
+                        raw.setDescription(parsed.description());
+                        raw.setContent(parsed.content());
+                        raw.setUrl(parsed.url());
+                        raw.setImageUrl(parsed.imageUrl());
                         raw.setSourceName(getSourceName());
                         if (publishedAt != null)
                             raw.setPublishedAt(OffsetDateTime.parse(publishedAt));
+                        raw.setSimhash(fingerprint);
                         raw.setRawJson(item);
 
-                        rawRepo.save(raw);
-                        savedArticles.add(raw);
-                        savedCount++;
+                        pending.add(pageWriter.prepare(raw));
 
-                        if (limit > 0 && savedCount >= limit) break outer;
+                        if (limit > 0 && savedCount + pending.size() >= limit) break;
                     } catch (Exception e) {
                         System.out.println("⚠️ Guardian save failed: " + e.getMessage());
                     }
                 }
 
-                System.out.printf("📄 [Guardian] Page %d — Saved: %d | Duplicates: %d%n",
-                        page, savedCount, duplicateCount);
+                List<RawArticle> saved = pageWriter.write(getSourceName(), page.number(), pending);
+                savedArticles.addAll(saved);
+                savedCount += saved.size();
+                progress.addAndGet(saved.size());
 
-                Thread.sleep(2000);
+                System.out.printf("📄 [Guardian] Page %d — Saved: %d | Duplicates: %d%n",
+                        page.number(), savedCount, duplicateCount);
 
-            } catch (Exception e) {
-                System.out.println("⚠️ [Guardian] Error on page " + page + ": " + e.getMessage());
+                if (limit > 0 && savedCount >= limit) break;
+                // Another page like this one would reach the limit: don't spend quota reading ahead
+                if (limit > 0 && limit - savedCount <= saved.size()) pages.stopReadAhead();
             }
-            page++;
+        } catch (InterruptedException e) {
+            // interrupted by RawNewsFetcherService when it did not stop within the grace period
+            Thread.currentThread().interrupt();
+            System.out.println("⏹ [Guardian] Interrupted");
         }
 
         System.out.printf("✅ [Guardian] Completed — Total Saved: %d | Duplicates: %d%n",
                 savedCount, duplicateCount);
         return savedArticles;
     }
+
+    /** A search result with its text fields already normalized */
+    private record Item(Map<String, Object> json, String url, String title, String description, String content,
+                        String imageUrl, String publishedAt) {}
+
+    private List<Item> parseItems(List<Object> page) {
+        List<Item> items = new ArrayList<>(page.size());
+        for (Object rawItem : page) {
+            if (!(rawItem instanceof Map<?, ?> rawMap)) {
+                continue;
+            }
+
+            try {
+                Map<String, Object> item = rawMap.entrySet().stream()
+                        .filter(entry -> entry.getKey() instanceof String)
+                        .collect(Collectors.toMap(
+                                entry -> (String) entry.getKey(),
+                                Map.Entry::getValue
+                        ));
+
+                Object fieldsNode = item.get("fields");
+                Map<String, Object> fields = null;
+                if (fieldsNode instanceof Map<?, ?> rawFields) {
+                    fields = rawFields.entrySet().stream()
+                            .filter(entry -> entry.getKey() instanceof String)
+                            .collect(Collectors.toMap(
+                                    entry -> (String) entry.getKey(),
+                                    Map.Entry::getValue
+                            ));
+                }
+
+                // 🔹 Normalize
+                items.add(new Item(item,
+                        (String) item.get("webUrl"),
+                        normalizer.normalize(fields != null ? (String) fields.get("headline") : null),
+                        normalizer.normalize(fields != null ? (String) fields.get("trailText") : null),
+                        normalizer.normalize(fields != null ? (String) fields.get("bodyText") : null),
+                        fields != null ? (String) fields.get("thumbnail") : null,
+                        fields != null ? (String) fields.get("firstPublicationDate") : null));
+            } catch (Exception e) {
+                System.out.println("⚠️ Guardian item skipped: " + e.getMessage());
+            }
+        }
+        return items;
+    }
+
+    /** One page of search results; null once the API returns nothing more or may not be called now */
+    private List<Object> fetchPage(int page) throws InterruptedException {
+        String url = String.format(
+                "%s/search?q=climate OR sustainability OR environment&show-fields=bodyText,headline,trailText,thumbnail,firstPublicationDate,byline&api-key=%s&page=%d&page-size=50",
+                baseUrl, apiKey, page
+        );
+
+        ResponseEntity<Map<String, Object>> response = rateLimit.execute(() -> restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<Map<String, Object>>() {}
+        ));
+
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) return null;
+
+        Map<String, Object> resp = response.getBody();
+        Object responseNode = resp.get("response");
+        if (!(responseNode instanceof Map<?, ?> responseData)) return null;
+
+        Object resultsNode = responseData.get("results");
+        if (!(resultsNode instanceof List<?> rawResults)) return null;
+        return new ArrayList<>(rawResults);
+    }
 }
@@ -1,9 +1,10 @@
 package com.news_aggregator.backend.service.fetchers;
 
 import com.news_aggregator.backend.model.RawArticle;
-import com.news_aggregator.backend.repository.RawArticleRepository;
 import com.news_aggregator.backend.service.filters.EsgFilterService;
+import com.news_aggregator.backend.service.filters.SimHashService;
 import com.news_aggregator.backend.service.filters.TextNormalizerService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -16,15 +17,20 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @RequiredArgsConstructor
 public class NewsApiFetcher implements RawNewsSourceFetcher {
 
     private final RestTemplate restTemplate;
-    private final RawArticleRepository rawRepo;
     private final EsgFilterService filter;
     private final TextNormalizerService normalizer; // ✅ add here
+    private final SimHashService simHash;
+    private final ProviderRateLimiter rateLimiter;
+    private final RawArticleDeduplicator deduplicator;
+    private final RawArticlePageWriter pageWriter;
 
     @Value("${newsapi.url}")
     private String baseUrl;
@@ -35,109 +41,190 @@ public class NewsApiFetcher implements RawNewsSourceFetcher {
     @Value("${newsapi.language:en}")
     private String language;
 
+    @Value("${fetching.prefetch-pages:2}")
+    private int prefetchPages;
+
+    @Value("${newsapi.rate-limit.requests-per-second:1}")
+    private double requestsPerSecond;
+
+    @Value("${newsapi.rate-limit.burst:1}")
+    private int burst;
+
+    @Value("${newsapi.rate-limit.daily-quota:0}")
+    private long dailyQuota;
+
+    private ProviderRateLimiter.Bucket rateLimit;
+
+    private static final int MAX_PAGES = 10;
+
     private static final String BASIC_QUERY =
             "(ESG OR sustainability OR sustainable OR climate OR renewable OR green OR environment OR carbon OR \"net zero\")";
 
+    @PostConstruct
+    void initRateLimit() {
+        rateLimit = rateLimiter.bucket(getSourceName(), requestsPerSecond, burst, dailyQuota);
+    }
+
     @Override
     public String getSourceName() {
         return "NewsAPI";
     }
 
     @Override
-    public List<RawArticle> fetchArticles(int limit) {
+    public List<RawArticle> fetchArticles(int limit, AtomicInteger progress, AtomicBoolean cancelled) {
         List<RawArticle> savedArticles = new ArrayList<>();
         int savedCount = 0, duplicateCount = 0, skippedCount = 0;
-        int page = 1;
 
-        outer:
-        while (page <= 10) {
-            try {
-                String url = String.format(
-                        "%s/everything?q=%s&language=%s&pageSize=50&page=%d&apiKey=%s",
-                        baseUrl, BASIC_QUERY, language, page, apiKey
-                );
+        try (PagePrefetcher<Map<String, Object>> pages =
+                     new PagePrefetcher<>(getSourceName(), MAX_PAGES, prefetchPages, this::fetchPage)) {
+            for (PagePrefetcher.Page<Map<String, Object>> page; (page = pages.next()) != null; ) {
+                // 🔹 Cancelled by RawNewsFetcherService (per-source timeout): stop between pages
+                if (cancelled.get()) {
+                    System.out.println("⏹ [NewsAPI] Cancelled");
+                    break;
+                }
+                List<Item> items = parseItems(page.items());
+                RawArticleDeduplicator.PageDuplicates duplicates;
+                try {
+                    duplicates = deduplicator.forPage(
+                            items.stream().map(Item::url).toList(),
+                            items.stream().map(i -> new RawArticleDeduplicator.TitleKey(i.title(), i.sourceName())).toList());
+                } catch (Exception e) {
+                    System.out.println("⚠️ [NewsAPI] Duplicate check failed on page " + page.number() + ": " + e.getMessage());
+                    continue;
+                }
 
-                ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                        url, HttpMethod.GET, null, new ParameterizedTypeReference<>() {}
-                );
+                // 🔹 Exact duplicates and ESG filter first, then one near-duplicate lookup for what is left
+                List<Item> candidates = new ArrayList<>();
+                List<Long> fingerprints = new ArrayList<>();
+                for (Item parsed : items) {
+                    try {
+                        // 🔹 Skip exact duplicates (already stored, or repeated on this page)
+                        if (duplicates.isDuplicate(parsed.url(), parsed.title(), parsed.sourceName())) {
+                            duplicateCount++;
+                            continue;
+                        }
 
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) break;
+                        if (!filter.isEsgRelevant(parsed.title(), parsed.description(), parsed.content())) continue;
 
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> articles =
-                        (List<Map<String, Object>>) response.getBody().get("articles");
+                        candidates.add(parsed);
+                        fingerprints.add(simHash.compute(parsed.title(), parsed.description(), parsed.content()));
+                    } catch (Exception e) {
+                        System.out.println("⚠️ NewsAPI duplicate check failed: " + e.getMessage());
+                    }
+                }
 
-                if (articles == null || articles.isEmpty()) break;
+                SimHashService.PageNearDuplicates nearDuplicates;
+                try {
+                    nearDuplicates = simHash.forPage(fingerprints);
+                } catch (Exception e) {
+                    System.out.println("⚠️ [NewsAPI] Near-duplicate check failed on page " + page.number() + ": " + e.getMessage());
+                    continue;
+                }
 
-                for (Map<String, Object> item : articles) {
+                List<RawArticlePageWriter.Pending> pending = new ArrayList<>();
+                for (int c = 0; c < candidates.size(); c++) {
                     try {
-                        String title = (String) item.get("title");
-                        String description = (String) item.get("description");
-                        String content = (String) item.get("content");
-                        String articleUrl = (String) item.get("url");
-                        String sourceName = null;
-
-                        if (content != null)
-                            content = normalizer.normalize(content);
-
-                        Object src = item.get("source");
-                        if (src instanceof Map<?, ?> srcMap)
-                            sourceName = (String) srcMap.get("name");
+                        Item parsed = candidates.get(c);
+                        long fingerprint = fingerprints.get(c);
+                        Map<String, Object> item = parsed.json();
 
-                        // Normalize before checks
-                        title = normalizer.normalize(title);
-                        description = normalizer.normalize(description);
-
-                        if (articleUrl != null && rawRepo.existsByUrl(articleUrl)) {
+                        // 🔹 Skip near-duplicates (syndicated copies with slightly different text)
+                        if (nearDuplicates.isNearDuplicate(fingerprint)) {
                             duplicateCount++;
                             continue;
                         }
-                        if (title != null && sourceName != null &&
-                                rawRepo.existsByTitleAndSourceName(title, sourceName)) {
-                            duplicateCount++;
-                            continue;
-                        }
-
-                        if (!filter.isEsgRelevant(title, description, content)) continue;
 
                         RawArticle raw = new RawArticle();
                         raw.setApiSource(getSourceName());
-                        raw.setTitle(title);
-                        raw.setDescription(description);
-                        raw.setContent(content);
-                        raw.setUrl(articleUrl);
+                        raw.setTitle(parsed.title());
+                        raw.setDescription(parsed.description());
+                        raw.setContent(parsed.content());
+                        raw.setUrl(parsed.url());
                         raw.setImageUrl((String) item.get("urlToImage"));
-                        raw.setSourceName(sourceName);
+                        raw.setSourceName(parsed.sourceName());
 
                         String publishedAt = (String) item.get("publishedAt");
                         if (publishedAt != null)
                             raw.setPublishedAt(OffsetDateTime.parse(publishedAt));
 
+                        raw.setSimhash(fingerprint);
                         raw.setRawJson(item);
-                        rawRepo.save(raw);
-                        savedArticles.add(raw);
-                        savedCount++;
+                        pending.add(pageWriter.prepare(raw));
 
-                        if (limit > 0 && savedCount >= limit) break outer;
+                        if (limit > 0 && savedCount + pending.size() >= limit) break;
 
                     } catch (Exception e) {
                         System.out.println("⚠️ NewsAPI save failed: " + e.getMessage());
                     }
                 }
 
-                System.out.printf("📄 [NewsAPI] Page %d — Saved: %d | Duplicates: %d | Skipped: %d%n",
-                        page, savedCount, duplicateCount, skippedCount);
+                List<RawArticle> saved = pageWriter.write(getSourceName(), page.number(), pending);
+                savedArticles.addAll(saved);
+                savedCount += saved.size();
+                progress.addAndGet(saved.size());
 
-                Thread.sleep(2000);
+                System.out.printf("📄 [NewsAPI] Page %d — Saved: %d | Duplicates: %d | Skipped: %d%n",
+                        page.number(), savedCount, duplicateCount, skippedCount);
 
-            } catch (Exception e) {
-                System.out.println("⚠️ [NewsAPI] Error on page " + page + ": " + e.getMessage());
+                if (limit > 0 && savedCount >= limit) break;
+                // Another page like this one would reach the limit: don't spend quota reading ahead
+                if (limit > 0 && limit - savedCount <= saved.size()) pages.stopReadAhead();
             }
-            page++;
+        } catch (InterruptedException e) {
+            // interrupted by RawNewsFetcherService when it did not stop within the grace period
+            Thread.currentThread().interrupt();
+            System.out.println("⏹ [NewsAPI] Interrupted");
         }
 
         System.out.printf("✅ [NewsAPI] Completed — Total Saved: %d | Duplicates: %d | Skipped: %d%n",
                 savedCount, duplicateCount, skippedCount);
         return savedArticles;
     }
+
+    /** An API item with its text fields already normalized */
+    private record Item(Map<String, Object> json, String title, String description, String content,
+                        String url, String sourceName) {}
+
+    private List<Item> parseItems(List<Map<String, Object>> page) {
+        List<Item> items = new ArrayList<>(page.size());
+        for (Map<String, Object> item : page) {
+            try {
+                String sourceName = null;
+                Object src = item.get("source");
+                if (src instanceof Map<?, ?> srcMap)
+                    sourceName = (String) srcMap.get("name");
+
+                // Normalize before checks
+                items.add(new Item(item,
+                        normalizer.normalize((String) item.get("title")),
+                        normalizer.normalize((String) item.get("description")),
+                        normalizer.normalize((String) item.get("content")),
+                        (String) item.get("url"),
+                        sourceName));
+            } catch (Exception e) {
+                System.out.println("⚠️ NewsAPI item skipped: " + e.getMessage());
+            }
+        }
+        return items;
+    }
+
+    /** One page of search results; null once the API returns nothing more or may not be called now */
+    private List<Map<String, Object>> fetchPage(int page) throws InterruptedException {
+        String url = String.format(
+                "%s/everything?q=%s&language=%s&pageSize=50&page=%d&apiKey=%s",
+                baseUrl, BASIC_QUERY, language, page, apiKey
+        );
+
+        ResponseEntity<Map<String, Object>> response = rateLimit.execute(() -> restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<Map<String, Object>>() {}
+        ));
+
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) return null;
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> articles =
+                (List<Map<String, Object>>) response.getBody().get("articles");
+        return articles;
+    }
 }
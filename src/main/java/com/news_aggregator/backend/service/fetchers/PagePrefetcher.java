@@ -0,0 +1,128 @@
+package com.news_aggregator.backend.service.fetchers;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Requests result pages on a background virtual thread while the caller processes
+ * the previous ones, so HTTP latency overlaps with normalization and database work.
+ *
+ * The producer stays at most {@code readAheadPages} pages ahead of the pages asked for
+ * through {@link #next()}. Every page read ahead costs a request even if it is never used,
+ * so a caller close to its save limit calls {@link #stopReadAhead()}: from then on a page is
+ * only requested once {@code next()} asks for it. Closing the prefetcher (e.g. when the save
+ * limit is reached) interrupts the producer, so no further pages are requested. Request
+ * pacing is up to the loader (see {@link ProviderRateLimiter}).
+ *
+ * <pre>
+ * try (PagePrefetcher&lt;Item&gt; pages = new PagePrefetcher&lt;&gt;(...)) {
+ *     for (PagePrefetcher.Page&lt;Item&gt; page; (page = pages.next()) != null; ) { ... }
+ * }
+ * </pre>
+ */
+final class PagePrefetcher<T> implements AutoCloseable {
+
+    /** Loads one page; null or an empty list means there are no more pages */
+    @FunctionalInterface
+    interface PageLoader<T> {
+        List<T> load(int page) throws Exception;
+    }
+
+    record Page<T>(int number, List<T> items) {}
+
+    private static final Page<?> END = new Page<>(-1, List.of());
+
+    private final String sourceName;
+    private final int maxPages;
+    private final PageLoader<T> loader;
+    // Unbounded, but never holds more than readAheadPages + 1 pages: the producer waits for demand
+    private final BlockingQueue<Page<T>> buffer = new LinkedBlockingQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition demand = lock.newCondition();
+    private final Thread producer;
+
+    private int requested;  // pages asked for through next()
+    private int readAhead;  // pages the producer may load beyond those
+
+    PagePrefetcher(String sourceName, int maxPages, int readAheadPages, PageLoader<T> loader) {
+        this.sourceName = sourceName;
+        this.maxPages = maxPages;
+        this.loader = loader;
+        this.readAhead = Math.max(0, readAheadPages);
+        this.producer = Thread.ofVirtual().name("prefetch-" + sourceName).start(this::produce);
+    }
+
+    /** 🔹 Next fetched page, waiting for it if needed; null when there are no more pages */
+    Page<T> next() throws InterruptedException {
+        lock.lock();
+        try {
+            requested++;
+            demand.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        Page<T> page = buffer.take();
+        if (page == END) {
+            buffer.put(page); // stay at the end on repeated calls
+            return null;
+        }
+        return page;
+    }
+
+    /** 🔹 Requests no more pages than {@link #next()} asks for (pages already loading still arrive) */
+    void stopReadAhead() {
+        lock.lock();
+        try {
+            readAhead = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        producer.interrupt();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void produce() {
+        boolean interrupted = false;
+        try {
+            int delivered = 0;
+            for (int page = 1; page <= maxPages && !Thread.currentThread().isInterrupted(); page++) {
+                awaitDemand(delivered);
+                List<T> items;
+                try {
+                    items = loader.load(page);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    System.out.println("⚠️ [" + sourceName + "] Error on page " + page + ": " + e.getMessage());
+                    continue;
+                }
+                if (items == null || items.isEmpty()) break;
+                buffer.put(new Page<>(page, items));
+                delivered++;
+            }
+        } catch (InterruptedException e) {
+            // closed by the consumer: stop requesting pages
+            interrupted = true;
+        } finally {
+            // Also on an Error, so the consumer is never left waiting in next()
+            if (!interrupted) buffer.offer((Page<T>) END);
+        }
+    }
+
+    private void awaitDemand(int delivered) throws InterruptedException {
+        lock.lock();
+        try {
+            while (delivered >= requested + readAhead) demand.await();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
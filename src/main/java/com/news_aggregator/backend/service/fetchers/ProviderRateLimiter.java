@@ -0,0 +1,181 @@
+package com.news_aggregator.backend.service.fetchers;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Token-bucket rate limits for the news APIs, one {@link Bucket} per provider.
+ *
+ * A bucket refills at {@code requests-per-second} up to {@code burst} tokens and also counts
+ * requests against a {@code daily-quota} (reset at midnight UTC; 0 = unlimited). A 429/503
+ * response pauses the provider for its {@code Retry-After} before the request is retried.
+ *
+ * The remaining daily quota of each provider is published as the gauge
+ * {@code news.fetch.quota.remaining{provider=...}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderRateLimiter {
+
+    /** Longest pause a fetch cycle waits out; beyond it the provider is skipped until a later cycle */
+    static final Duration MAX_WAIT = Duration.ofSeconds(60);
+    /** Pause after a 429 that carries no Retry-After header */
+    static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+    static final int MAX_RETRIES = 2;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /** 🔹 Bucket for a provider, created (and its quota gauge registered) on first use */
+    public Bucket bucket(String provider, double requestsPerSecond, int burst, long dailyQuota) {
+        return buckets.computeIfAbsent(provider, p -> {
+            Bucket bucket = new Bucket(p, requestsPerSecond, burst, dailyQuota);
+            Gauge.builder("news.fetch.quota.remaining", bucket, Bucket::remainingQuota)
+                    .description("Requests left in the provider's daily quota (-1 = unlimited)")
+                    .tag("provider", p)
+                    .register(meterRegistry);
+            return bucket;
+        });
+    }
+
+    public static final class Bucket {
+
+        private final String provider;
+        private final double refillPerNano;
+        private final int burst;
+        private final long dailyQuota;
+
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private long blockedUntil = lastRefill;
+        private LocalDate quotaDay = LocalDate.now(ZoneOffset.UTC);
+        private long usedToday;
+
+        Bucket(String provider, double requestsPerSecond, int burst, long dailyQuota) {
+            this.provider = provider;
+            this.refillPerNano = Math.max(requestsPerSecond, 1e-6) / 1e9;
+            this.burst = Math.max(1, burst);
+            this.dailyQuota = dailyQuota;
+            this.tokens = this.burst;
+        }
+
+        /**
+         * 🔹 Waits for a token and counts one request against the daily quota.
+         *
+         * @return false, without waiting, when the daily quota is used up or the provider asked
+         *         us to back off for longer than {@link #MAX_WAIT}
+         */
+        public boolean acquire() throws InterruptedException {
+            long waitNanos = reserve();
+            if (waitNanos < 0) return false;
+            if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return true;
+        }
+
+        /**
+         * 🔹 Runs a request once a token is available, retrying up to {@link #MAX_RETRIES} times
+         * when the provider answers 429/503 with a Retry-After of at most {@link #MAX_WAIT}.
+         *
+         * @return the response, or null if the provider cannot be called right now (see {@link #acquire})
+         */
+        public <T> T execute(Supplier<T> request) throws InterruptedException {
+            for (int attempt = 0; ; attempt++) {
+                if (!acquire()) return null;
+                try {
+                    return request.get();
+                } catch (HttpStatusCodeException e) {
+                    Duration retryAfter = retryAfter(e);
+                    if (retryAfter == null) throw e;
+                    pauseFor(retryAfter);
+                    if (attempt >= MAX_RETRIES || retryAfter.compareTo(MAX_WAIT) > 0) throw e;
+                    System.out.printf("⏳ [%s] Rate limited (%d) — retrying in %d s%n",
+                            provider, e.getStatusCode().value(), retryAfter.toSeconds());
+                }
+            }
+        }
+
+        /** 🔹 Pauses all requests to this provider, e.g. after a Retry-After */
+        public synchronized void pauseFor(Duration duration) {
+            blockedUntil = Math.max(blockedUntil, System.nanoTime() + duration.toNanos());
+        }
+
+        /** Requests left today; -1 when there is no daily quota */
+        public synchronized double remainingQuota() {
+            if (dailyQuota <= 0) return -1;
+            rollQuotaDay();
+            return Math.max(0, dailyQuota - usedToday);
+        }
+
+        /** Takes a token (possibly going into debt) and returns how long to wait for it; -1 if not allowed */
+        private synchronized long reserve() {
+            long now = System.nanoTime();
+            rollQuotaDay();
+            if (dailyQuota > 0 && usedToday >= dailyQuota) {
+                System.out.printf("🪫 [%s] Daily quota of %d requests used up%n", provider, dailyQuota);
+                return -1;
+            }
+            if (blockedUntil - now > MAX_WAIT.toNanos()) {
+                System.out.printf("⏸ [%s] Backing off for another %d s%n",
+                        provider, TimeUnit.NANOSECONDS.toSeconds(blockedUntil - now));
+                return -1;
+            }
+
+            tokens = Math.min(burst, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            tokens -= 1;
+            usedToday++;
+
+            long tokenWait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / refillPerNano);
+            return Math.max(tokenWait, blockedUntil - now);
+        }
+
+        private void rollQuotaDay() {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            if (!today.equals(quotaDay)) {
+                quotaDay = today;
+                usedToday = 0;
+            }
+        }
+
+        /** How long a 429/503 response asks us to wait; null for any other error */
+        static Duration retryAfter(HttpStatusCodeException e) {
+            int status = e.getStatusCode().value();
+            if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                return null;
+            }
+            HttpHeaders headers = e.getResponseHeaders();
+            String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+            if (value == null || value.isBlank()) {
+                return status == HttpStatus.TOO_MANY_REQUESTS.value() ? DEFAULT_RETRY_AFTER : null;
+            }
+            value = value.trim();
+            try {
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    Duration wait = Duration.between(ZonedDateTime.now(ZoneOffset.UTC), at);
+                    return wait.isNegative() ? Duration.ZERO : wait;
+                } catch (DateTimeParseException notDate) {
+                    return DEFAULT_RETRY_AFTER;
+                }
+            }
+        }
+    }
+}
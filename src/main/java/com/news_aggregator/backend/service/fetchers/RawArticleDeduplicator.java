@@ -0,0 +1,101 @@
+package com.news_aggregator.backend.service.fetchers;
+
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Exact duplicate check (same URL, or same title from the same source) for a whole page of
+ * fetched items at once: one URL query and one (title, source) query per page instead of
+ * two lookups per item. Items repeated within the page are caught in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class RawArticleDeduplicator {
+
+    /** Separator for the joined query parameters, see RawArticleRepository#findExistingUrls */
+    private static final char SEPARATOR = '\u001F';
+
+    private final RawArticleRepository rawRepo;
+
+    public record TitleKey(String title, String sourceName) {}
+
+    /**
+     * 🔹 Loads which of a page's keys are already stored.
+     *
+     * @param urls   article URLs of the page (nulls ignored)
+     * @param titles title/source pairs of the page (pairs with a null part ignored)
+     */
+    public PageDuplicates forPage(Collection<String> urls, Collection<TitleKey> titles) {
+        Set<String> existingUrls = new HashSet<>();
+        Set<TitleKey> existingTitles = new HashSet<>();
+
+        StringJoiner joinedUrls = new StringJoiner(String.valueOf(SEPARATOR));
+        for (String url : new HashSet<>(urls)) {
+            if (url == null) continue;
+            if (url.indexOf(SEPARATOR) >= 0) {
+                if (rawRepo.existsByUrl(url)) existingUrls.add(url); // cannot be joined; check it alone
+            } else {
+                joinedUrls.add(url);
+            }
+        }
+        if (joinedUrls.length() > 0) {
+            existingUrls.addAll(rawRepo.findExistingUrls(joinedUrls.toString()));
+        }
+
+        List<TitleKey> batch = new ArrayList<>();
+        for (TitleKey key : new HashSet<>(titles)) {
+            if (key.title() == null || key.sourceName() == null) continue;
+            if (key.title().indexOf(SEPARATOR) >= 0 || key.sourceName().indexOf(SEPARATOR) >= 0) {
+                if (rawRepo.existsByTitleAndSourceName(key.title(), key.sourceName())) existingTitles.add(key);
+            } else {
+                batch.add(key);
+            }
+        }
+        if (!batch.isEmpty()) {
+            StringJoiner joinedTitles = new StringJoiner(String.valueOf(SEPARATOR));
+            StringJoiner joinedSources = new StringJoiner(String.valueOf(SEPARATOR));
+            for (TitleKey key : batch) {
+                joinedTitles.add(key.title());
+                joinedSources.add(key.sourceName());
+            }
+            for (Object[] row : rawRepo.findExistingTitles(joinedTitles.toString(), joinedSources.toString())) {
+                existingTitles.add(new TitleKey((String) row[0], (String) row[1]));
+            }
+        }
+        return new PageDuplicates(existingUrls, existingTitles);
+    }
+
+    /** Stored keys of one page, plus the keys of the page's items checked so far */
+    public static final class PageDuplicates {
+
+        private final Set<String> urls;
+        private final Set<TitleKey> titles;
+
+        PageDuplicates(Set<String> urls, Set<TitleKey> titles) {
+            this.urls = urls;
+            this.titles = titles;
+        }
+
+        /**
+         * 🔹 True if the item is already stored or an earlier item of the page had the same
+         * URL or title/source; otherwise remembers the item's keys for the rest of the page.
+         */
+        public boolean isDuplicate(String url, String title, String sourceName) {
+            if (url != null && urls.contains(url)) return true;
+            TitleKey key = title != null && sourceName != null ? new TitleKey(title, sourceName) : null;
+            if (key != null && titles.contains(key)) return true;
+
+            if (url != null) urls.add(url);
+            if (key != null) titles.add(key);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.news_aggregator.backend.service.fetchers;
+
+import com.news_aggregator.backend.model.RawArticle;
+import com.news_aggregator.backend.repository.RawArticleBatchWriter;
+import com.news_aggregator.backend.service.filters.CorpusStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves the new articles of one fetched page and keeps the corpus stats in step with what
+ * was actually stored.
+ *
+ * Term vectors are encoded for the whole page first (new terms get their ids in one
+ * statement), then the rows go out in one batch ({@link RawArticleBatchWriter}), and only
+ * the rows that were inserted are counted in the document frequency table, in one upsert.
+ */
+@Component
+@RequiredArgsConstructor
+public class RawArticlePageWriter {
+
+    private final RawArticleBatchWriter batchWriter;
+    private final CorpusStatsService corpusStats;
+
+    /** An article waiting to be saved, with its analyzed terms */
+    public record Pending(RawArticle raw, Map<String, Float> terms) {}
+
+    /** 🔹 Analyzes an article for {@link #write}; nothing is stored or counted yet */
+    public Pending prepare(RawArticle raw) {
+        return new Pending(raw, corpusStats.termFrequencies(raw.getTitle(), raw.getDescription(), raw.getContent()));
+    }
+
+    /**
+     * 🔹 Inserts the new articles of one page in a single batch and returns the ones saved.
+     * If the batch fails (e.g. one row violates a constraint), rows are retried one by one.
+     */
+    public List<RawArticle> write(String source, int pageNumber, List<Pending> pending) {
+        if (pending.isEmpty()) return List.of();
+        long start = System.nanoTime();
+
+        List<RawArticle> articles = new ArrayList<>(pending.size());
+        for (Pending p : pending) articles.add(p.raw());
+        try {
+            List<byte[]> vectors = corpusStats.termVectors(pending.stream().map(Pending::terms).toList());
+            for (int i = 0; i < articles.size(); i++) {
+                articles.get(i).setTermVector(vectors.get(i));
+            }
+        } catch (Exception e) {
+            System.out.println("⚠️ [" + source + "] Term vectors failed on page " + pageNumber + ": " + e.getMessage());
+        }
+
+        List<Pending> inserted;
+        try {
+            batchWriter.insertAll(articles);
+            inserted = pending;
+            System.out.printf("💾 [%s] Page %d — Inserted %d articles in %d ms%n",
+                    source, pageNumber, pending.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception batchFailure) {
+            System.out.println("⚠️ [" + source + "] Batch save failed on page " + pageNumber + ", saving one by one: " + batchFailure.getMessage());
+            inserted = new ArrayList<>();
+            for (Pending p : pending) {
+                try {
+                    batchWriter.insertAll(List.of(p.raw()));
+                    inserted.add(p);
+                } catch (Exception e) {
+                    System.out.println("⚠️ " + source + " save failed: " + e.getMessage());
+                }
+            }
+        }
+
+        try {
+            corpusStats.recordDocuments(inserted.stream().map(Pending::terms).toList());
+        } catch (Exception e) {
+            System.out.println("⚠️ [" + source + "] Corpus stats not updated for page " + pageNumber + ": " + e.getMessage());
+        }
+        return inserted.stream().map(Pending::raw).toList();
+    }
+}
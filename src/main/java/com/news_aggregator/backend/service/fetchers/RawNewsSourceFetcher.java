@@ -2,8 +2,21 @@ package com.news_aggregator.backend.service.fetchers;
 
 import com.news_aggregator.backend.model.RawArticle;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public interface RawNewsSourceFetcher {
     String getSourceName();
-    List<RawArticle> fetchArticles(int limit);
+
+    default List<RawArticle> fetchArticles(int limit) {
+        return fetchArticles(limit, new AtomicInteger(), new AtomicBoolean());
+    }
+
+    /**
+     * @param progress  incremented as soon as each page's articles are committed, so the caller
+     *                  can still report progress when it cancels a fetch halfway
+     * @param cancelled checked between pages: once set, the fetch returns without starting another
+     *                  page, but a page that is being written is finished first
+     */
+    List<RawArticle> fetchArticles(int limit, AtomicInteger progress, AtomicBoolean cancelled);
 }
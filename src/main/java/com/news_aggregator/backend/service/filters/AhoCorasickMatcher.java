@@ -0,0 +1,172 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.util.*;
+
+/**
+ * Immutable Aho-Corasick automaton for case-insensitive substring matching of many
+ * keywords in one pass over the text.
+ *
+ * The trie is compiled into a full transition table over the characters that occur in
+ * the keywords (every other character maps to one shared "no match" column), so the scan
+ * is a single table lookup per input character, with no backtracking and no lowercased copy.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final List<String> keywords;
+    private final Map<Character, Integer> columnOf = new HashMap<>();
+    private final int[] asciiColumn = new int[128];
+    private final int columns;
+    private final int[][] next;
+    private final int[][] output;
+    private final int[] longest; // longest keyword ending in each state, -1 if none
+
+    public AhoCorasickMatcher(Collection<String> keywords) {
+        this.keywords = keywords.stream()
+                .filter(k -> k != null && !k.isBlank())
+                .map(AhoCorasickMatcher::lower)
+                .distinct()
+                .toList();
+
+        // Column 0 is every character that appears in no keyword
+        int column = 1;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (!columnOf.containsKey(c)) columnOf.put(c, column++);
+            }
+        }
+        this.columns = column;
+        columnOf.forEach((c, col) -> {
+            if (c < 128) asciiColumn[c] = col;
+        });
+
+        // 1. Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(new int[columns]);
+        outputs.add(new ArrayList<>());
+        for (int k = 0; k < this.keywords.size(); k++) {
+            String keyword = this.keywords.get(k);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int col = columnOf.get(keyword.charAt(i));
+                if (trie.get(state)[col] == 0) {
+                    trie.get(state)[col] = trie.size();
+                    trie.add(new int[columns]);
+                    outputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[col];
+            }
+            outputs.get(state).add(k);
+        }
+
+        // 2. Failure links breadth-first, turning the trie into a complete DFA
+        int states = trie.size();
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int col = 0; col < columns; col++) {
+            if (trie.get(0)[col] != 0) queue.add(trie.get(0)[col]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs.get(state).addAll(outputs.get(fail[state]));
+            for (int col = 0; col < columns; col++) {
+                int child = trie.get(state)[col];
+                if (child != 0) {
+                    fail[child] = trie.get(fail[state])[col];
+                    queue.add(child);
+                } else {
+                    trie.get(state)[col] = trie.get(fail[state])[col];
+                }
+            }
+        }
+
+        this.next = trie.toArray(new int[0][]);
+        this.output = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<Integer> out = outputs.get(s);
+            output[s] = out.isEmpty() ? NO_OUTPUT : out.stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+        this.longest = new int[states];
+        for (int s = 0; s < states; s++) {
+            longest[s] = -1;
+            for (int k : output[s]) {
+                if (longest[s] < 0 || this.keywords.get(k).length() > this.keywords.get(longest[s]).length()) longest[s] = k;
+            }
+        }
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    /** 🔹 True as soon as any keyword occurs in the text */
+    public boolean matchesAny(CharSequence text) {
+        if (text == null || keywords.isEmpty()) return false;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next[state][column(text.charAt(i))];
+            if (output[state].length > 0) return true;
+        }
+        return false;
+    }
+
+    /** 🔹 Marks the index (in {@link #getKeywords()} order) of every keyword occurring in the text */
+    public void collect(CharSequence text, BitSet matched) {
+        if (text == null) return;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next[state][column(text.charAt(i))];
+            for (int k : output[state]) matched.set(k);
+        }
+    }
+
+    /**
+     * 🔹 Like {@link #collect}, but an occurrence that lies inside a longer keyword occurrence
+     * does not count ("environment" within "environmental"), so overlapping keywords are not
+     * counted twice. A keyword that also occurs on its own elsewhere in the text still counts.
+     */
+    public void collectOutermost(CharSequence text, BitSet matched) {
+        if (text == null || keywords.isEmpty()) return;
+        // Per end position only the longest keyword can be outermost; the others are its suffixes
+        int[] starts = new int[16];
+        int[] found = new int[16];
+        int n = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next[state][column(text.charAt(i))];
+            int k = longest[state];
+            if (k < 0) continue;
+            if (n == starts.length) {
+                starts = Arrays.copyOf(starts, n * 2);
+                found = Arrays.copyOf(found, n * 2);
+            }
+            starts[n] = i + 1 - keywords.get(k).length();
+            found[n++] = k;
+        }
+        // A match lies inside a later-ending one exactly when that one starts no later
+        int minStart = Integer.MAX_VALUE;
+        for (int m = n - 1; m >= 0; m--) {
+            if (starts[m] < minStart) {
+                matched.set(found[m]);
+                minStart = starts[m];
+            }
+        }
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumn[c < 'A' || c > 'Z' ? c : c + ('a' - 'A')];
+        }
+        Integer col = columnOf.get(Character.toLowerCase(c));
+        return col != null ? col : 0;
+    }
+
+    private static String lower(String keyword) {
+        StringBuilder sb = new StringBuilder(keyword.length());
+        for (int i = 0; i < keyword.length(); i++) sb.append(Character.toLowerCase(keyword.charAt(i)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brute-force scoring of every pair i < j — exact and the reference for the other
+ * strategies. Runs on the fork-join engine when parallelism is configured.
+ */
+@Component
+@RequiredArgsConstructor
+public class AllPairsSearchStrategy implements SimilaritySearchStrategy {
+
+    public static final String NAME = "all-pairs";
+
+    private final ParallelSimilarityEngine parallelEngine;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<SimilarityResult> findSimilar(List<ArticleVector> vectors, double threshold) {
+        if (parallelEngine.isEnabled()) {
+            return parallelEngine.scoreAllPairs(vectors, threshold, AllPairsSearchStrategy::cosine);
+        }
+
+        List<SimilarityResult> results = new ArrayList<>();
+        int total = vectors.size();
+        for (int i = 0; i < total; i++) {
+            var v1 = vectors.get(i);
+            for (int j = i + 1; j < total; j++) {
+                var v2 = vectors.get(j);
+                double score = cosine(v1, v2);
+                if (score >= threshold) {
+                    results.add(new SimilarityResult(v1.id(), v2.id(), score));
+                }
+            }
+        }
+        return results;
+    }
+
+    static double cosine(ArticleVector v1, ArticleVector v2) {
+        return v1.vector().dot(v2.vector());
+    }
+}
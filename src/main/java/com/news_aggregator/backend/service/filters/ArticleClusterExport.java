@@ -0,0 +1,39 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder.Relation;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Typed clustering output handed from {@link ClusteredTfidfExportService} to the prompt builder.
+ * It is serialized to JSON exactly once, inside the prompt, with snake_case field names.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record ArticleClusterExport(Meta meta, List<Cluster> clusters) {
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record Meta(String source, int totalClusters, double similarityThreshold, String generatedAt) {}
+
+    /** A group of related raw articles; the first member is the primary article. */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record Cluster(String clusterId,
+                          long primaryArticleId,
+                          List<Long> relatedArticleIds,
+                          List<ClusterArticle> articles,
+                          List<Relation> relations) {}
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record ClusterArticle(Long id,
+                                 String apiSource,
+                                 String sourceName,
+                                 String title,
+                                 String description,
+                                 String content,
+                                 String url,
+                                 String imageUrl,
+                                 OffsetDateTime publishedAt,
+                                 OffsetDateTime fetchedAt) {}
+}
@@ -0,0 +1,106 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Shared Lucene analysis used by both similarity scoring and corpus statistics,
+ * so document frequencies are counted over exactly the same terms that get compared.
+ *
+ * The analyzer keeps its default per-thread reuse strategy, so every thread
+ * tokenizes through one cached token-stream pipeline instead of building a new one
+ * per call. {@link #forEachTerm} streams terms straight to a sink with per-field
+ * weights and token caps: the title is boosted, and only the first N content
+ * tokens count — long Guardian bodies add little to duplicate detection.
+ */
+@Component
+public class ArticleTokenizer {
+
+    @FunctionalInterface
+    public interface TermSink {
+        void accept(String term, float weight);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleTokenizer.class);
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private final float titleWeight;
+    private final float descriptionWeight;
+    private final float contentWeight;
+    private final int titleMaxTokens;
+    private final int descriptionMaxTokens;
+    private final int contentMaxTokens;
+
+    public ArticleTokenizer(
+            @Value("${clustering.vectorizer.title-weight:2.0}") float titleWeight,
+            @Value("${clustering.vectorizer.description-weight:1.0}") float descriptionWeight,
+            @Value("${clustering.vectorizer.content-weight:1.0}") float contentWeight,
+            @Value("${clustering.vectorizer.title-max-tokens:64}") int titleMaxTokens,
+            @Value("${clustering.vectorizer.description-max-tokens:128}") int descriptionMaxTokens,
+            @Value("${clustering.vectorizer.content-max-tokens:400}") int contentMaxTokens) {
+        this.titleWeight = titleWeight;
+        this.descriptionWeight = descriptionWeight;
+        this.contentWeight = contentWeight;
+        this.titleMaxTokens = titleMaxTokens;
+        this.descriptionMaxTokens = descriptionMaxTokens;
+        this.contentMaxTokens = contentMaxTokens;
+    }
+
+    /**
+     * 🔹 Streams the analyzed terms of each field to the sink with that field's weight,
+     * stopping each field at its token cap (a cap of 0 or less means unlimited).
+     */
+    public void forEachTerm(String title, String description, String content, TermSink sink) {
+        stream(title, titleMaxTokens, titleWeight, sink);
+        stream(description, descriptionMaxTokens, descriptionWeight, sink);
+        stream(content, contentMaxTokens, contentWeight, sink);
+    }
+
+    private void stream(String text, int maxTokens, float weight, TermSink sink) {
+        if (text == null || text.isEmpty() || weight <= 0) return;
+        try (TokenStream ts = analyzer.tokenStream("field", text)) {
+            CharTermAttribute term = ts.addAttribute(CharTermAttribute.class);
+            ts.reset();
+            int count = 0;
+            while ((maxTokens <= 0 || count < maxTokens) && ts.incrementToken()) {
+                sink.accept(term.toString(), weight);
+                count++;
+            }
+            ts.end();
+        } catch (IOException e) {
+            log.warn("⚠️ Could not tokenize text: {}", e.getMessage());
+        }
+    }
+
+    /** 🔹 Convert text into normalized (stemmed, stop-word free) tokens, uncapped */
+    public List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        stream(text, 0, 1.0f, (term, weight) -> tokens.add(term));
+        return tokens;
+    }
+
+    /** 🔹 Joins title, description and content the same way for every caller */
+    public String fullText(String title, String description, String content) {
+        return String.join(" ",
+                Optional.ofNullable(title).orElse(""),
+                Optional.ofNullable(description).orElse(""),
+                Optional.ofNullable(content).orElse(""));
+    }
+
+    /** 🔹 Distinct terms of an article (same fields and caps as vectorization), for document frequencies */
+    public Set<String> distinctTerms(String title, String description, String content) {
+        Set<String> terms = new HashSet<>();
+        forEachTerm(title, description, content, (term, weight) -> terms.add(term));
+        return terms;
+    }
+}
@@ -1,16 +1,15 @@
 package com.news_aggregator.backend.service.filters;
 
-import com.news_aggregator.backend.model.RawArticle;
+import com.news_aggregator.backend.repository.RawArticleClusterView;
 import com.news_aggregator.backend.repository.RawArticleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Builds a structured export containing only clusters of related articles
+ * Builds a typed export containing only clusters of related articles
  * (articles that have at least one strong TF-IDF relationship).
  *
  * Each cluster groups mutually similar articles together
@@ -20,113 +19,119 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClusteredTfidfExportService {
 
+    private static final int LOAD_BATCH_SIZE = 500;
+
     private final RawArticleRepository rawRepo;
 
     /**
-     * Builds a JSON-like structure with only related articles.
+     * Builds the cluster export with only related articles.
      *
-     * @param tfidfPairs list of {id1, id2, similarity} maps
-     * @param threshold  minimum similarity score to include a relation
-     * @return Map containing meta + clusters for AI input
+     * @param pairs     similar article pairs from the similarity search
+     * @param threshold minimum similarity score to include a relation
+     * @return meta + clusters for AI input
      */
-    public Map<String, Object> buildClusteredExport(List<Map<String, Object>> tfidfPairs, double threshold) {
-        // 🧩 Load all articles from DB
-        List<RawArticle> allArticles = rawRepo.findAll();
-        Map<Long, RawArticle> articleMap = allArticles.stream()
-                .collect(Collectors.toMap(RawArticle::getId, a -> a));
-
-        // 🧠 Step 1: Build graph of strong similarities
-        Map<Long, Set<Long>> graph = new HashMap<>();
-        List<Map<String, Object>> validPairs = new ArrayList<>();
-
-        for (Map<String, Object> pair : tfidfPairs) {
-            double sim = Double.parseDouble(pair.get("similarity").toString());
-            if (sim < threshold) continue;
+    public ArticleClusterExport buildClusteredExport(List<TfidfSimilarityService.SimilarityResult> pairs, double threshold) {
+        // 🧠 Step 1: Copy qualifying pairs into primitive arrays
+        int size = pairs.size();
+        long[] ids1 = new long[size];
+        long[] ids2 = new long[size];
+        double[] sims = new double[size];
+        int parsed = 0;
+        Set<Long> clusteredIds = new HashSet<>();
+
+        for (TfidfSimilarityService.SimilarityResult pair : pairs) {
+            if (pair.similarity() < threshold) continue;
+
+            ids1[parsed] = pair.id1();
+            ids2[parsed] = pair.id2();
+            sims[parsed] = pair.similarity();
+            clusteredIds.add(ids1[parsed]);
+            clusteredIds.add(ids2[parsed]);
+            parsed++;
+        }
 
-            Long id1 = Long.parseLong(pair.get("id1").toString());
-            Long id2 = Long.parseLong(pair.get("id2").toString());
+        // 🧩 Load only the articles that appear in qualifying pairs, in batches, without rawJson
+        Map<Long, RawArticleClusterView> articleMap = loadArticles(clusteredIds);
 
-            if (!articleMap.containsKey(id1) || !articleMap.containsKey(id2))
+        int count = 0;
+        for (int k = 0; k < parsed; k++) {
+            if (!articleMap.containsKey(ids1[k]) || !articleMap.containsKey(ids2[k]))
                 continue; // skip unknown IDs
-
-            Map<String, Object> validPair = new HashMap<>();
-            validPair.put("id1", id1);
-            validPair.put("id2", id2);
-            validPair.put("similarity", sim);
-            validPairs.add(validPair);
-
-            graph.computeIfAbsent(id1, k -> new HashSet<>()).add(id2);
-            graph.computeIfAbsent(id2, k -> new HashSet<>()).add(id1);
+            ids1[count] = ids1[k];
+            ids2[count] = ids2[k];
+            sims[count] = sims[k];
+            count++;
         }
 
-        // 🕸 Step 2: Find connected components (clusters)
-        Set<Long> visited = new HashSet<>();
-        List<Map<String, Object>> clusters = new ArrayList<>();
+        // 🕸 Step 2: Union-find connected components (clusters) with their relations
+        return toExport(UnionFindClusterBuilder.build(ids1, ids2, sims, count), articleMap, threshold);
+    }
 
-        for (Long id : graph.keySet()) {
-            if (visited.contains(id)) continue;
+    /**
+     * Builds the same export from clusters that were formed elsewhere
+     * (e.g. by the incremental {@link LiveClusterIndex}).
+     *
+     * @param components clusters with their member ids and relations
+     * @param threshold  similarity threshold reported in the meta block
+     * @return meta + clusters for AI input
+     */
+    public ArticleClusterExport buildClusterExport(List<UnionFindClusterBuilder.Cluster> components, double threshold) {
+        Set<Long> ids = new HashSet<>();
+        for (UnionFindClusterBuilder.Cluster component : components) ids.addAll(component.articleIds());
+        return toExport(components, loadArticles(ids), threshold);
+    }
 
-            // DFS/BFS to find all connected nodes
-            Set<Long> clusterIds = new HashSet<>();
-            Deque<Long> stack = new ArrayDeque<>(List.of(id));
+    private ArticleClusterExport toExport(List<UnionFindClusterBuilder.Cluster> components,
+                                          Map<Long, RawArticleClusterView> articleMap,
+                                          double threshold) {
+        List<ArticleClusterExport.Cluster> clusters = new ArrayList<>(components.size());
+
+        for (UnionFindClusterBuilder.Cluster component : components) {
+            List<Long> clusterIds = component.articleIds();
+
+            List<ArticleClusterExport.ClusterArticle> articles = new ArrayList<>(clusterIds.size());
+            for (Long id : clusterIds) {
+                RawArticleClusterView a = articleMap.get(id);
+                if (a == null) continue;
+                articles.add(new ArticleClusterExport.ClusterArticle(
+                        a.getId(), a.getApiSource(), a.getSourceName(), a.getTitle(), a.getDescription(),
+                        a.getContent(), a.getUrl(), a.getImageUrl(), a.getPublishedAt(), a.getFetchedAt()));
+            }
 
-            while (!stack.isEmpty()) {
-                Long current = stack.pop();
-                if (!visited.add(current)) continue;
-                clusterIds.add(current);
-                for (Long nbr : graph.getOrDefault(current, Set.of())) {
-                    if (!visited.contains(nbr)) stack.push(nbr);
-                }
+            // Relations were already assigned to this cluster by the builder; 3 decimals are plenty for the prompt
+            List<UnionFindClusterBuilder.Relation> relations = new ArrayList<>(component.relations().size());
+            for (UnionFindClusterBuilder.Relation r : component.relations()) {
+                relations.add(new UnionFindClusterBuilder.Relation(r.id1(), r.id2(), Math.round(r.similarity() * 1000) / 1000.0));
             }
 
-            // Build cluster article details
-            List<Map<String, Object>> articles = clusterIds.stream()
-                    .map(articleMap::get)
-                    .filter(Objects::nonNull)
-                    .map(a -> {
-                        Map<String, Object> map = new LinkedHashMap<>();
-                        map.put("id", a.getId());
-                        map.put("api_source", a.getApiSource());
-                        map.put("source_name", a.getSourceName());
-                        map.put("title", a.getTitle());
-                        map.put("description", a.getDescription());
-                        map.put("content", a.getContent());
-                        map.put("url", a.getUrl());
-                        map.put("image_url", a.getImageUrl());
-                        map.put("published_at", a.getPublishedAt());
-                        map.put("fetched_at", a.getFetchedAt());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            // Extract relevant relations for this cluster only
-            List<Map<String, Object>> relations = validPairs.stream()
-                    .filter(p -> clusterIds.contains(Long.parseLong(p.get("id1").toString())) &&
-                                 clusterIds.contains(Long.parseLong(p.get("id2").toString())))
-                    .collect(Collectors.toList());
-
-            // Build cluster map manually (avoid Map.of())
-            Map<String, Object> cluster = new LinkedHashMap<>();
-            cluster.put("cluster_id", "cluster_" + (clusters.size() + 1));
-            cluster.put("primary_article_id", clusterIds.iterator().next());
-            cluster.put("related_article_ids", new ArrayList<>(clusterIds));
-            cluster.put("articles", articles);
-            cluster.put("relations", relations);
-            clusters.add(cluster);
+            clusters.add(new ArticleClusterExport.Cluster(
+                    "cluster_" + (clusters.size() + 1),
+                    clusterIds.get(0),
+                    List.copyOf(clusterIds),
+                    articles,
+                    relations));
         }
 
         // 🧾 Step 3: Meta Information
-        Map<String, Object> meta = new LinkedHashMap<>();
-        meta.put("source", "raw_articles");
-        meta.put("total_clusters", clusters.size());
-        meta.put("similarity_threshold", threshold);
-        meta.put("generated_at", OffsetDateTime.now().toString());
-
-        // 🎯 Step 4: Final JSON structure
-        Map<String, Object> export = new LinkedHashMap<>();
-        export.put("meta", meta);
-        export.put("clusters", clusters);
-
-        return export;
+        ArticleClusterExport.Meta meta = new ArticleClusterExport.Meta(
+                "raw_articles", clusters.size(), threshold, OffsetDateTime.now().toString());
+
+        return new ArticleClusterExport(meta, clusters);
+    }
+
+    private Map<Long, RawArticleClusterView> loadArticles(Set<Long> ids) {
+        Map<Long, RawArticleClusterView> articles = new HashMap<>(ids.size() * 2);
+        List<Long> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                rawRepo.findByIdIn(batch).forEach(a -> articles.put(a.getId(), a));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rawRepo.findByIdIn(batch).forEach(a -> articles.put(a.getId(), a));
+        }
+        return articles;
     }
 }
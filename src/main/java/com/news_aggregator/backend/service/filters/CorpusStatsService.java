@@ -0,0 +1,236 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.model.CorpusTerm;
+import com.news_aggregator.backend.model.RawArticle;
+import com.news_aggregator.backend.repository.CorpusTermRepository;
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps term document frequencies across all {@code raw_articles}.
+ *
+ * The table is loaded into memory once at startup and then updated incrementally
+ * whenever a fetcher saves a new raw article, so restarts never need a full rescan.
+ * A rescan only happens once, when the table is still empty but raw articles exist.
+ * If loading fails the stats stay not ready and the load is retried before the next
+ * orchestration run ({@link #ensureLoaded()}); writes in between only go to the table.
+ *
+ * It also binds every corpus term to its {@code corpus_terms.id} in the {@link TermDictionary},
+ * which is what makes stored term vectors ({@link TermVectorCodec}) valid across restarts.
+ */
+@Service
+@RequiredArgsConstructor
+public class CorpusStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CorpusStatsService.class);
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final CorpusTermRepository corpusTermRepository;
+    private final RawArticleRepository rawRepo;
+    private final ArticleTokenizer tokenizer;
+    private final TermDictionary dictionary;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Long> documentFrequencies = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+    // Held while loading, and by writes made before the stats are loaded, so none is lost or counted twice
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean ready;
+
+    @PostConstruct
+    void load() {
+        tryLoad();
+    }
+
+    /**
+     * 🔹 True once the stats are loaded. A failed startup load leaves them not ready (every IDF
+     * weight would be the same), so callers that weight by IDF retry it here before each run.
+     */
+    public boolean ensureLoaded() {
+        return ready || tryLoad();
+    }
+
+    private boolean tryLoad() {
+        lock.lock();
+        try {
+            if (ready) return true;
+            if (corpusTermRepository.findDocumentCount() == 0 && rawRepo.count() > 0) {
+                rebuild();
+            }
+
+            // Counts written while not ready were only stored, so the tables are the whole truth
+            documentFrequencies.clear();
+            for (CorpusTerm term : corpusTermRepository.findAll()) {
+                documentFrequencies.put(term.getTerm(), term.getDocCount());
+                dictionary.register(term.getTerm(), term.getId());
+            }
+            documentCount.set(corpusTermRepository.findDocumentCount());
+            ready = true;
+            log.info("📚 Corpus stats loaded — {} documents, {} terms", documentCount.get(), documentFrequencies.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ Could not load corpus stats, IDF weights are not ready (retried before the next orchestration run): {}",
+                    e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One-time bootstrap from existing raw articles. Articles are read page by page, but the
+     * counts are written in a single transaction at the end: a rebuild that dies halfway leaves
+     * the table empty, so it simply runs again on the next start.
+     */
+    private void rebuild() {
+        log.info("📚 Corpus stats table is empty — rebuilding from raw_articles...");
+        Map<String, Long> counts = new HashMap<>();
+        long documents = 0;
+        int page = 0;
+        Page<RawArticle> batch;
+        do {
+            batch = rawRepo.findAll(PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            for (RawArticle raw : batch) {
+                for (String term : tokenizer.distinctTerms(raw.getTitle(), raw.getDescription(), raw.getContent())) {
+                    counts.merge(term, 1L, Long::sum);
+                }
+            }
+            documents += batch.getNumberOfElements();
+        } while (batch.hasNext());
+        persist(counts, documents);
+    }
+
+    /**
+     * 🔹 Encoded term vectors (see {@link TermVectorCodec}) for documents that are about to be
+     * stored. Terms new to the corpus get their {@code corpus_terms.id} here, in one statement,
+     * but nothing is counted yet: call {@link #recordDocuments} once the documents are saved.
+     *
+     * @param documents term frequencies from {@link #termFrequencies}
+     */
+    public List<byte[]> termVectors(List<Map<String, Float>> documents) {
+        Set<String> unregistered = new TreeSet<>();
+        for (Map<String, Float> frequencies : documents) {
+            for (String term : frequencies.keySet()) {
+                if (dictionary.persistentIdOf(term) < 0) unregistered.add(term);
+            }
+        }
+        if (!unregistered.isEmpty()) {
+            for (Object[] row : corpusTermRepository.registerTerms(String.join(" ", unregistered))) {
+                dictionary.register((String) row[1], ((Number) row[0]).intValue());
+            }
+        }
+
+        List<byte[]> vectors = new ArrayList<>(documents.size());
+        for (Map<String, Float> frequencies : documents) {
+            vectors.add(encode(frequencies));
+        }
+        return vectors;
+    }
+
+    /**
+     * 🔹 Counts stored documents in the document frequency table: one upsert for the whole
+     * batch, so only rows that were actually inserted ever affect IDF.
+     */
+    public void recordDocuments(List<Map<String, Float>> documents) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map<String, Float> frequencies : documents) {
+            for (String term : frequencies.keySet()) {
+                counts.merge(term, 1L, Long::sum);
+            }
+        }
+        persist(counts, documents.size());
+    }
+
+    /**
+     * 🔹 Encoded term vector of any text (e.g. a synthesized article) without counting it
+     * as a corpus document. Terms new to the corpus are registered, like in {@link #termVectors}.
+     */
+    public byte[] termVector(String title, String description, String content) {
+        return termVectors(List.of(termFrequencies(title, description, content))).get(0);
+    }
+
+    /** 🔹 Weighted term frequencies of a document, without recording anything */
+    public Map<String, Float> termFrequencies(String title, String description, String content) {
+        Map<String, Float> frequencies = new HashMap<>();
+        tokenizer.forEachTerm(title, description, content, (term, weight) -> frequencies.merge(term, weight, Float::sum));
+        return frequencies;
+    }
+
+    private byte[] encode(Map<String, Float> frequencies) {
+        Map<Integer, Float> byId = new HashMap<>(frequencies.size() * 2);
+        frequencies.forEach((term, frequency) -> {
+            int id = dictionary.persistentIdOf(term);
+            if (id > 0) byId.merge(id, frequency, Float::sum);
+        });
+        return TermVectorCodec.encode(byId);
+    }
+
+    private void persist(Map<String, Long> counts, long documents) {
+        if (documents == 0) return;
+
+        // Until the stats are loaded, a load must not run between the write and the in-memory update
+        boolean loading = !ready;
+        if (loading) lock.lock();
+        try {
+            if (!counts.isEmpty()) {
+                StringJoiner terms = new StringJoiner(" ");
+                StringJoiner values = new StringJoiner(" ");
+                // Sorted, so concurrent fetchers upsert shared rows in the same order and cannot deadlock
+                new TreeMap<>(counts).forEach((term, count) -> {
+                    terms.add(term);
+                    values.add(Long.toString(count));
+                });
+                // Term and document counts commit together, so IDF never sees one without the other
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    corpusTermRepository.addDocumentFrequencies(terms.toString(), values.toString());
+                    corpusTermRepository.addDocuments(documents);
+                });
+            } else {
+                corpusTermRepository.addDocuments(documents);
+            }
+            registerNewTerms(counts.keySet());
+
+            if (!ready) return; // the next load reads these counts from the table
+            counts.forEach((term, count) -> documentFrequencies.merge(term, count, Long::sum));
+            documentCount.addAndGet(documents);
+        } finally {
+            if (loading) lock.unlock();
+        }
+    }
+
+    /** Looks up {@code corpus_terms.id} for terms the dictionary has no persistent id for yet. */
+    private void registerNewTerms(Collection<String> terms) {
+        StringJoiner unregistered = new StringJoiner(" ");
+        for (String term : terms) {
+            if (dictionary.persistentIdOf(term) < 0) unregistered.add(term);
+        }
+        if (unregistered.length() == 0) return;
+        for (Object[] row : corpusTermRepository.findIdsByTerms(unregistered.toString())) {
+            dictionary.register((String) row[1], ((Number) row[0]).intValue());
+        }
+    }
+
+    /** 🔹 Smoothed inverse document frequency; unseen terms get the maximum weight */
+    public double idf(String term) {
+        long df = term != null ? documentFrequencies.getOrDefault(term, 0L) : 0L;
+        return Math.log((1.0 + documentCount.get()) / (1.0 + df)) + 1.0;
+    }
+
+    public long getDocumentCount() {
+        return documentCount.get();
+    }
+}
@@ -1,14 +1,34 @@
 package com.news_aggregator.backend.service.filters;
 
+import com.news_aggregator.backend.model.EsgTerm;
+import com.news_aggregator.backend.repository.EsgTermRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Weighted ESG relevance filter for fetched articles.
+ *
+ * Terms and their per-field weights live in the {@code esg_terms} table and are reloaded
+ * periodically: each reload compiles a new immutable {@link EsgRelevanceModel} and swaps it
+ * in through an {@link AtomicReference}, so fetchers keep scoring against the previous model
+ * while a reload runs. An article is kept when its score reaches {@code ingest.esg.min-score}.
+ *
+ * Until the table has been loaded (or when it is empty/unreachable) the built-in keyword list
+ * with weight 1 everywhere is used, which accepts any single keyword match.
+ */
 @Service
 public class EsgFilterService {
 
-    // ✅ Core ESG-related keywords and phrases
+    private static final Logger log = LoggerFactory.getLogger(EsgFilterService.class);
+
+    // ✅ Built-in fallback keywords and phrases
     private static final List<String> ESG_KEYWORDS = Arrays.asList(
             "esg",
             "sustainability",
@@ -40,6 +60,42 @@ public class EsgFilterService {
             "resilience"
     );
 
+    private static final EsgRelevanceModel BUILT_IN = new EsgRelevanceModel(
+            ESG_KEYWORDS.stream().map(k -> new EsgRelevanceModel.Term(k, 1f, 1f, 1f)).toList());
+
+    private final EsgTermRepository termRepository;
+    private final double minScore;
+    private final AtomicReference<EsgRelevanceModel> model = new AtomicReference<>(BUILT_IN);
+
+    /** Without a repository (e.g. in benchmarks) only the built-in keywords are used. */
+    public EsgFilterService(EsgTermRepository termRepository,
+                            @Value("${ingest.esg.min-score:1.0}") double minScore) {
+        this.termRepository = termRepository;
+        this.minScore = minScore;
+    }
+
+    /** 🔹 Recompiles the model from {@code esg_terms}; runs at startup and then periodically */
+    @Scheduled(fixedDelayString = "${ingest.esg.reload-interval-ms:300000}")
+    public void reload() {
+        if (termRepository == null) return;
+        try {
+            List<EsgTerm> rows = termRepository.findByEnabledTrue();
+            if (rows.isEmpty()) {
+                model.set(BUILT_IN);
+                return;
+            }
+            EsgRelevanceModel compiled = new EsgRelevanceModel(rows.stream()
+                    .map(t -> new EsgRelevanceModel.Term(t.getTerm(), t.getTitleWeight(), t.getDescriptionWeight(), t.getContentWeight()))
+                    .toList());
+            EsgRelevanceModel previous = model.getAndSet(compiled);
+            if (previous == BUILT_IN || previous.size() != compiled.size()) {
+                log.info("🌱 ESG relevance model loaded — {} terms, min score {}", compiled.size(), minScore);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Could not reload ESG terms, keeping the current model: {}", e.getMessage());
+        }
+    }
+
     /**
      * Determines whether the given text fields (title, description, content)
      * are relevant to ESG or sustainability topics.
@@ -47,20 +103,23 @@ public class EsgFilterService {
      * @param title       article title
      * @param description article summary/description
      * @param content     article full content
-     * @return true if article is ESG-related
+     * @return true if the weighted relevance score reaches the configured minimum
      */
     public boolean isEsgRelevant(String title, String description, String content) {
-        String text = ((title == null ? "" : title) + " " +
-                       (description == null ? "" : description) + " " +
-                       (content == null ? "" : content)).toLowerCase();
+        return model.get().score(title, description, content, minScore) >= minScore;
+    }
 
-        for (String keyword : ESG_KEYWORDS) {
-            if (text.contains(keyword)) {
-                return true;
-            }
-        }
-        System.out.println("Not Relelvent");
-        return false;
-        
+    /** 🔹 Full weighted relevance score of an article */
+    public double score(String title, String description, String content) {
+        return model.get().score(title, description, content, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the ESG terms found in any of the fields, in term order.
+     *
+     * @return matched terms; empty if no term occurs
+     */
+    public List<String> matchedKeywords(String title, String description, String content) {
+        return model.get().matchedTerms(title, description, content);
     }
 }
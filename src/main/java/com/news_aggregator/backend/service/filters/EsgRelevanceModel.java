@@ -0,0 +1,77 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable, compiled ESG relevance model: an {@link AhoCorasickMatcher} over all terms plus
+ * one weight per term and field. A term counts once per field it occurs in, not counting
+ * occurrences inside a longer term ("environment" in "environmental"); the article score
+ * is the sum of those weights.
+ *
+ * Built off to the side on every reload and then swapped in atomically, so scoring threads
+ * never see a half-built model and never wait for a reload.
+ */
+public final class EsgRelevanceModel {
+
+    /** One scoring term as loaded from {@code esg_terms} (or the built-in fallback list). */
+    public record Term(String term, float titleWeight, float descriptionWeight, float contentWeight) {}
+
+    private final AhoCorasickMatcher matcher;
+    private final float[] titleWeights;
+    private final float[] descriptionWeights;
+    private final float[] contentWeights;
+
+    public EsgRelevanceModel(List<Term> terms) {
+        this.matcher = new AhoCorasickMatcher(terms.stream().map(Term::term).toList());
+        List<String> keywords = matcher.getKeywords();
+        this.titleWeights = new float[keywords.size()];
+        this.descriptionWeights = new float[keywords.size()];
+        this.contentWeights = new float[keywords.size()];
+
+        // The matcher lowercases and de-duplicates; the last definition of a term wins
+        for (Term term : terms) {
+            int k = keywords.indexOf(term.term().toLowerCase());
+            if (k < 0) continue;
+            titleWeights[k] = term.titleWeight();
+            descriptionWeights[k] = term.descriptionWeight();
+            contentWeights[k] = term.contentWeight();
+        }
+    }
+
+    public int size() {
+        return matcher.getKeywords().size();
+    }
+
+    /**
+     * 🔹 Relevance score of an article. Stops scanning further fields once {@code stopAt}
+     * is reached (pass {@link Double#POSITIVE_INFINITY} for the full score).
+     */
+    public double score(String title, String description, String content, double stopAt) {
+        double score = fieldScore(title, titleWeights);
+        if (score >= stopAt) return score;
+        score += fieldScore(description, descriptionWeights);
+        if (score >= stopAt) return score;
+        return score + fieldScore(content, contentWeights);
+    }
+
+    /** 🔹 Terms matched in any field, in term order */
+    public List<String> matchedTerms(String title, String description, String content) {
+        BitSet matched = new BitSet();
+        matcher.collect(title, matched);
+        matcher.collect(description, matched);
+        matcher.collect(content, matched);
+        return matched.stream().mapToObj(matcher.getKeywords()::get).toList();
+    }
+
+    private double fieldScore(String text, float[] weights) {
+        if (text == null || text.isEmpty()) return 0;
+        BitSet matched = new BitSet(weights.length);
+        matcher.collectOutermost(text, matched);
+        double score = 0;
+        for (int k = matched.nextSetBit(0); k >= 0; k = matched.nextSetBit(k + 1)) {
+            score += weights[k];
+        }
+        return score;
+    }
+}
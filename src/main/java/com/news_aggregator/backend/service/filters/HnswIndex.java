@@ -0,0 +1,280 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical Navigable Small World graph over unit-length {@link SparseVector}s,
+ * for approximate nearest-neighbour search by cosine similarity.
+ *
+ * Every node lives on layer 0 and on each layer above with probability 1/M, so a
+ * search walks greedily down the sparse upper layers and then runs a bounded
+ * best-first search (width {@code efSearch}) on layer 0. Re-inserting a key
+ * tombstones the old node: it still routes searches but is never returned.
+ *
+ * Inserts take a write lock and searches a read lock, so lookups run concurrently.
+ */
+public final class HnswIndex {
+
+    public record Neighbor(long key, double similarity) {}
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> nodeOfKey = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HnswIndex(int m, int efConstruction, int efSearch) {
+        this.m = Math.max(2, m);
+        this.maxM0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.efSearch = Math.max(1, efSearch);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+    }
+
+    private static final class Node {
+        final long key;
+        final SparseVector vector;
+        final int[][] neighbors;
+        final int[] neighborCount;
+        boolean deleted;
+
+        Node(long key, SparseVector vector, int level, int m, int maxM0) {
+            this.key = key;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCount = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                // one spare slot: a list may overflow by one before it is pruned
+                neighbors[l] = new int[(l == 0 ? maxM0 : m) + 1];
+            }
+        }
+
+        int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    /** Candidate during search; ordered by similarity. */
+    private record Scored(int node, double similarity) {}
+
+    /** 🔹 Adds a vector under a key, replacing any previous vector for that key */
+    public void insert(long key, SparseVector vector) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeOfKey.remove(key);
+            if (previous != null) nodes.get(previous).deleted = true;
+
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            int id = nodes.size();
+            Node node = new Node(key, vector, level, m, maxM0);
+            nodes.add(node);
+            nodeOfKey.put(key, id);
+
+            if (entryPoint < 0) {
+                entryPoint = id;
+                maxLevel = level;
+                return;
+            }
+
+            int ep = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                ep = greedyClosest(vector, ep, l);
+            }
+
+            List<Scored> entryPoints = List.of(new Scored(ep, vector.dot(nodes.get(ep).vector)));
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Scored> found = searchLayer(vector, entryPoints, efConstruction, l);
+                int maxConnections = l == 0 ? maxM0 : m;
+                for (Scored neighbor : selectNeighbors(found, m)) {
+                    connect(id, neighbor.node(), l, maxConnections);
+                    connect(neighbor.node(), id, l, maxConnections);
+                }
+                entryPoints = found;
+            }
+
+            if (level > maxLevel) {
+                entryPoint = id;
+                maxLevel = level;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 🔹 Removes a key from search results (its node keeps routing searches) */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeOfKey.remove(key);
+            if (previous != null) nodes.get(previous).deleted = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 🔹 Vector currently stored for a key, or null */
+    public SparseVector vectorOf(long key) {
+        lock.readLock().lock();
+        try {
+            Integer id = nodeOfKey.get(key);
+            return id != null ? nodes.get(id).vector : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 🔹 Approximate top-k most similar keys, best first.
+     *
+     * @param excludeKey key to leave out of the results (e.g. the query article itself)
+     */
+    public List<Neighbor> search(SparseVector query, int k, long excludeKey) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) return List.of();
+
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedyClosest(query, ep, l);
+            }
+            List<Scored> found = searchLayer(query, List.of(new Scored(ep, query.dot(nodes.get(ep).vector))),
+                    Math.max(efSearch, k + 1), 0);
+
+            List<Neighbor> result = new ArrayList<>(k);
+            for (Scored s : found) {
+                Node node = nodes.get(s.node());
+                if (node.deleted || node.key == excludeKey) continue;
+                result.add(new Neighbor(node.key, s.similarity()));
+                if (result.size() == k) break;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeOfKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Hill-climbs to the most similar node on one layer. */
+    private int greedyClosest(SparseVector query, int start, int level) {
+        int current = start;
+        double best = query.dot(nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.neighborCount[level]; i++) {
+                int candidate = node.neighbors[level][i];
+                double score = query.dot(nodes.get(candidate).vector);
+                if (score > best) {
+                    best = score;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Best-first search on one layer; returns up to {@code ef} nodes, most similar first. */
+    private List<Scored> searchLayer(SparseVector query, List<Scored> entryPoints, int ef, int level) {
+        BitSet visited = new BitSet(nodes.size());
+        PriorityQueue<Scored> candidates = new PriorityQueue<>((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        PriorityQueue<Scored> results = new PriorityQueue<>(Comparator.comparingDouble(Scored::similarity));
+
+        for (Scored ep : entryPoints) {
+            if (visited.get(ep.node())) continue;
+            visited.set(ep.node());
+            candidates.add(ep);
+            results.add(ep);
+            if (results.size() > ef) results.poll();
+        }
+
+        while (!candidates.isEmpty()) {
+            Scored current = candidates.poll();
+            if (results.size() >= ef && current.similarity() < results.peek().similarity()) break;
+
+            Node node = nodes.get(current.node());
+            if (node.level() < level) continue;
+            for (int i = 0; i < node.neighborCount[level]; i++) {
+                int neighbor = node.neighbors[level][i];
+                if (visited.get(neighbor)) continue;
+                visited.set(neighbor);
+
+                double score = query.dot(nodes.get(neighbor).vector);
+                if (results.size() < ef || score > results.peek().similarity()) {
+                    Scored scored = new Scored(neighbor, score);
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+
+        List<Scored> ordered = new ArrayList<>(results);
+        ordered.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return ordered;
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: a candidate is kept only if it is
+     * closer to the base node than to every neighbour kept so far. That spreads edges across
+     * directions instead of spending them all inside one tight cluster of near-duplicates.
+     *
+     * @param candidates candidates ordered by similarity to the base node, best first
+     */
+    private List<Scored> selectNeighbors(List<Scored> candidates, int max) {
+        List<Scored> selected = new ArrayList<>(max);
+        for (Scored candidate : candidates) {
+            if (selected.size() == max) break;
+            SparseVector v = nodes.get(candidate.node()).vector;
+            boolean diverse = true;
+            for (Scored kept : selected) {
+                if (v.dot(nodes.get(kept.node()).vector) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) selected.add(candidate);
+        }
+        return selected;
+    }
+
+    /** Adds a directed edge, re-selecting the list with {@link #selectNeighbors} when it overflows. */
+    private void connect(int from, int to, int level, int maxConnections) {
+        Node node = nodes.get(from);
+        int[] list = node.neighbors[level];
+        int count = node.neighborCount[level];
+        for (int i = 0; i < count; i++) {
+            if (list[i] == to) return;
+        }
+        list[count++] = to;
+        if (count > maxConnections) {
+            List<Scored> current = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                current.add(new Scored(list[i], node.vector.dot(nodes.get(list[i]).vector)));
+            }
+            current.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+            List<Scored> kept = selectNeighbors(current, maxConnections);
+            count = kept.size();
+            for (int i = 0; i < count; i++) list[i] = kept.get(i).node();
+        }
+        node.neighborCount[level] = count;
+    }
+}
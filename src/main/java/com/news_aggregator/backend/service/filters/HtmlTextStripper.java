@@ -0,0 +1,196 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.Tag;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass tag stripper for the simple, well-formed markup news APIs send
+ * (paragraphs, headings, lists, links, emphasis, images).
+ *
+ * Produces the same text as {@code Jsoup.parse(html).text()} once whitespace is collapsed:
+ * tags are dropped, block tags and {@code <br>} become a space, {@code <script>}/{@code <style>}
+ * bodies are skipped and entities are decoded with Jsoup's own decoder. Anything outside that
+ * subset — comments, tables, unknown tags, mis-nested or self-closing elements, block elements
+ * inside inline ones — makes {@link #strip} return null so the caller can fall back to Jsoup.
+ */
+final class HtmlTextStripper {
+
+    private static final Set<String> SUPPORTED_TAGS = Set.of(
+            // inline
+            "a", "abbr", "b", "bdi", "bdo", "cite", "code", "data", "dfn", "em", "i", "kbd", "mark", "q",
+            "s", "samp", "small", "span", "strong", "sub", "sup", "time", "u", "var", "br", "img", "wbr",
+            // block
+            "p", "div", "h1", "h2", "h3", "h4", "h5", "h6", "ul", "ol", "li", "dl", "dt", "dd", "blockquote",
+            "figure", "figcaption", "section", "article", "aside", "header", "footer", "nav", "main",
+            "address", "hr", "ins", "del",
+            // raw text, skipped
+            "script", "style"
+    );
+
+    /** Tag name → block according to Jsoup itself, so spacing decisions match its text() */
+    private static final Map<String, Boolean> BLOCK = new HashMap<>();
+    private static final Map<String, Boolean> VOID = new HashMap<>();
+
+    static {
+        for (String name : SUPPORTED_TAGS) {
+            Tag tag = Tag.valueOf(name);
+            BLOCK.put(name, tag.isBlock());
+            VOID.put(name, tag.isEmpty());
+        }
+    }
+
+    private HtmlTextStripper() {}
+
+    /**
+     * @return decoded text with tags removed (whitespace not yet collapsed),
+     *         or null if the markup needs a real HTML parser
+     */
+    static String strip(String html) {
+        StringBuilder out = new StringBuilder(html.length());
+        Deque<String> open = new ArrayDeque<>();
+        int openInline = 0;
+        int n = html.length();
+        int i = 0;
+
+        while (i < n) {
+            int lt = html.indexOf('<', i);
+            int textEnd = lt < 0 ? n : lt;
+            if (textEnd > i && !appendText(out, html, i, textEnd)) return null;
+            if (lt < 0) break;
+
+            i = lt + 1;
+            if (i >= n) {
+                out.append('<');
+                break;
+            }
+            char c = html.charAt(i);
+            boolean end = c == '/';
+            if (end) {
+                i++;
+                if (i >= n || !isAsciiLetter(html.charAt(i))) return null;
+            } else if (!isAsciiLetter(c)) {
+                if (c == '!' || c == '?') return null; // comments, doctype, CDATA, processing instructions
+                out.append('<');                      // a lone '<' is text
+                continue;
+            }
+
+            // Tag name
+            int nameStart = i;
+            while (i < n && isNameChar(html.charAt(i))) i++;
+            if (i >= n) return null;
+            char after = html.charAt(i);
+            if (after != '>' && after != '/' && !isWhitespace(after)) return null;
+            String name = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+            if (!SUPPORTED_TAGS.contains(name)) return null;
+
+            // Attributes, up to the closing '>'
+            int close = skipAttributes(html, i);
+            if (close < 0) return null;
+            boolean selfClosing = close > i && html.charAt(close - 1) == '/';
+            i = close + 1;
+
+            boolean block = BLOCK.get(name);
+            boolean isVoid = VOID.get(name);
+
+            if (end) {
+                if (isVoid || open.isEmpty() || !open.peek().equals(name)) return null;
+                open.pop();
+                if (block) out.append(' ');
+                else openInline--;
+                continue;
+            }
+
+            if (selfClosing && !isVoid) return null;
+            if (block && openInline > 0) return null;
+
+            if (name.equals("script") || name.equals("style")) {
+                i = skipRawText(html, i, name);
+                if (i < 0) return null;
+                out.append(' ');
+                continue;
+            }
+
+            if (block || name.equals("br")) out.append(' ');
+            if (!isVoid) {
+                open.push(name);
+                if (!block) openInline++;
+            }
+        }
+        return out.toString();
+    }
+
+    /** Appends a text run with entities decoded; false if it decodes to a NUL, which Jsoup may drop. */
+    private static boolean appendText(StringBuilder out, String html, int from, int to) {
+        int amp = from;
+        while (amp < to && html.charAt(amp) != '&') amp++;
+        if (amp == to) {
+            out.append(html, from, to);
+            return true;
+        }
+        String decoded = Parser.unescapeEntities(html.substring(from, to), false);
+        out.append(decoded);
+        return decoded.indexOf('\u0000') < 0;
+    }
+
+    /** Returns the index of the tag's closing '>', honouring quoted attribute values; -1 at EOF. */
+    private static int skipAttributes(String html, int i) {
+        int n = html.length();
+        while (i < n) {
+            char c = html.charAt(i);
+            if (c == '>') return i;
+            if (c == '=') {
+                i++;
+                while (i < n && isWhitespace(html.charAt(i))) i++;
+                if (i >= n) return -1;
+                char q = html.charAt(i);
+                if (q == '"' || q == '\'') {
+                    int endQuote = html.indexOf(q, i + 1);
+                    if (endQuote < 0) return -1;
+                    i = endQuote + 1;
+                    continue;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** Skips a script/style body up to and including its end tag; -1 if it never ends. */
+    private static int skipRawText(String html, int start, String name) {
+        int n = html.length();
+        int i = start;
+        while (true) {
+            int lt = html.indexOf("</", i);
+            if (lt < 0 || lt + 2 + name.length() > n) return -1;
+            int nameEnd = lt + 2 + name.length();
+            if (html.regionMatches(true, lt + 2, name, 0, name.length())
+                    && nameEnd < n
+                    && (html.charAt(nameEnd) == '>' || html.charAt(nameEnd) == '/' || isWhitespace(html.charAt(nameEnd)))) {
+                // "<!--" inside a script switches Jsoup into escaped states we do not model
+                if (html.substring(start, lt).contains("<!--")) return -1;
+                int close = html.indexOf('>', nameEnd);
+                return close < 0 ? -1 : close + 1;
+            }
+            i = lt + 2;
+        }
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNameChar(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+    }
+}
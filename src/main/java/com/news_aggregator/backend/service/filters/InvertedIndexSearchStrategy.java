@@ -0,0 +1,139 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Exact similarity search over an in-memory inverted index with prefix filtering,
+ * in the style of All-Pairs similarity search (Bayardo et al.).
+ *
+ * Articles are processed in order. Each article first probes the index, accumulating
+ * partial dot products only against earlier articles that share an indexed term,
+ * and is then indexed itself. Terms are visited from most to least frequent in the
+ * batch; the frequent prefix stays out of the index for as long as
+ * {@code Σ weight × maxWeight(term)} over it cannot reach the threshold, because a
+ * pair that only overlaps there can never qualify. Candidates get their exact score
+ * by adding the un-indexed prefix back, so results match brute force while the
+ * common (long) posting lists are never built or scanned.
+ */
+@Component
+public class InvertedIndexSearchStrategy implements SimilaritySearchStrategy {
+
+    public static final String NAME = "inverted-index";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<SimilarityResult> findSimilar(List<ArticleVector> vectors, double threshold) {
+        int n = vectors.size();
+
+        // Batch statistics: document frequency and max weight per term
+        Map<Integer, Integer> df = new HashMap<>();
+        Map<Integer, Float> maxWeight = new HashMap<>();
+        for (ArticleVector v : vectors) {
+            SparseVector x = v.vector();
+            for (int k = 0; k < x.size(); k++) {
+                df.merge(x.idAt(k), 1, Integer::sum);
+                maxWeight.merge(x.idAt(k), x.weightAt(k), Math::max);
+            }
+        }
+
+        Map<Integer, Postings> index = new HashMap<>();
+        SparseVector[] prefixes = new SparseVector[n];
+        double[] accumulator = new double[n];
+        int[] touched = new int[n];
+        long postingsScanned = 0;
+        List<SimilarityResult> results = new ArrayList<>();
+
+        for (int xi = 0; xi < n; xi++) {
+            SparseVector x = vectors.get(xi).vector();
+
+            // 1) Probe: partial dot products against indexed suffixes of earlier articles
+            int touchedCount = 0;
+            for (int k = 0; k < x.size(); k++) {
+                Postings postings = index.get(x.idAt(k));
+                if (postings == null) continue;
+                float w = x.weightAt(k);
+                postingsScanned += postings.size;
+                for (int p = 0; p < postings.size; p++) {
+                    int y = postings.docs[p];
+                    if (accumulator[y] == 0) touched[touchedCount++] = y;
+                    accumulator[y] += w * postings.weights[p];
+                }
+            }
+
+            // 2) Verify candidates: add back the un-indexed prefix of y
+            for (int t = 0; t < touchedCount; t++) {
+                int y = touched[t];
+                double score = accumulator[y] + prefixes[y].dot(x);
+                accumulator[y] = 0;
+                if (score >= threshold) {
+                    results.add(new SimilarityResult(vectors.get(y).id(), vectors.get(xi).id(), score));
+                }
+            }
+
+            // 3) Index x: frequent terms first into the prefix until the bound reaches the threshold
+            Integer[] order = new Integer[x.size()];
+            for (int k = 0; k < order.length; k++) order[k] = k;
+            Arrays.sort(order, (a, b) -> Integer.compare(df.get(x.idAt(b)), df.get(x.idAt(a))));
+
+            boolean[] inPrefix = new boolean[x.size()];
+            double bound = 0;
+            int prefixSize = 0;
+            for (int k : order) {
+                bound += x.weightAt(k) * maxWeight.get(x.idAt(k));
+                if (bound >= threshold) {
+                    index.computeIfAbsent(x.idAt(k), id -> new Postings()).add(xi, x.weightAt(k));
+                } else {
+                    inPrefix[k] = true;
+                    prefixSize++;
+                }
+            }
+            prefixes[xi] = prefixOf(x, inPrefix, prefixSize);
+        }
+
+        // Restore all-pairs (i, j) order so results are directly comparable
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < n; i++) position.put(vectors.get(i).id(), i);
+        results.sort(Comparator
+                .comparingInt((SimilarityResult r) -> position.get(r.id1()))
+                .thenComparingInt(r -> position.get(r.id2())));
+
+        System.out.printf("📇 Inverted index scanned %d postings for %d articles%n", postingsScanned, n);
+        return results;
+    }
+
+    private static SparseVector prefixOf(SparseVector x, boolean[] inPrefix, int prefixSize) {
+        int[] ids = new int[prefixSize];
+        float[] weights = new float[prefixSize];
+        int p = 0;
+        for (int k = 0; k < x.size(); k++) {
+            if (!inPrefix[k]) continue;
+            ids[p] = x.idAt(k);
+            weights[p++] = x.weightAt(k);
+        }
+        return SparseVector.wrap(ids, weights);
+    }
+
+    /** Growable primitive posting list: article indexes with their term weights. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size++] = weight;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import com.news_aggregator.backend.repository.RawArticleVectorView;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.UnionFindClusterBuilder.Relation;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * In-memory index of recent story clusters for incremental clustering.
+ *
+ * Each live cluster keeps its member vectors and a unit-length centroid. New raw
+ * articles are compared only with cluster centroids: an article joins the best
+ * matching cluster above the threshold, or opens a new cluster when nothing matches.
+ * That turns a developing story into one cluster across fetch cycles instead of
+ * one cluster (and one Gemini call) per cycle, and costs O(articles × clusters)
+ * instead of O(articles²).
+ *
+ * Clusters untouched for longer than the window are evicted. The index lives in
+ * memory only: at startup it is rebuilt from the stored term vectors of the raw
+ * articles processed within the window, so stories (including singletons waiting
+ * for a match) survive a restart. Which published article a cluster became is not
+ * stored; the published-article dedupe finds it again on the cluster's next update.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveClusterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveClusterIndex.class);
+
+    private final RawArticleRepository rawArticleRepository;
+    private final TfidfSimilarityService tfidfSimilarityService;
+    private final TermVectorBackfill termVectorBackfill;
+
+    @Value("${clustering.incremental.enabled:false}")
+    private boolean enabled;
+
+    @Value("${clustering.incremental.window-hours:72}")
+    private long windowHours;
+
+    @Value("${clustering.tfidf.threshold:0.5}")
+    private double threshold;
+
+    private final List<LiveCluster> clusters = new ArrayList<>();
+    private final Map<Long, LiveCluster> clusterOfArticle = new HashMap<>();
+    private long nextClusterId = 1;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    synchronized void rebuild() {
+        if (!enabled) return;
+        try {
+            termVectorBackfill.backfillRawArticles();
+        } catch (Exception e) {
+            log.warn("⚠️ Could not backfill raw article term vectors, rebuilding from those that exist: {}", e.getMessage());
+        }
+        try {
+            long start = System.nanoTime();
+            OffsetDateTime cutoff = OffsetDateTime.now().minusHours(windowHours);
+            int articles = 0;
+            for (RawArticleVectorView row : rawArticleRepository.findByProcessedTrueAndFetchedAtAfterOrderByIdAsc(cutoff)) {
+                if (row.getTermVector() == null) continue;
+                ArticleVector vector = tfidfSimilarityService.vectorize(new TfidfSimilarityService.ArticleMinimal(
+                        row.getId(), null, null, null, row.getTermVector(),
+                        row.getPublishedAt() != null ? row.getPublishedAt() : row.getFetchedAt()));
+                assign(vector, threshold, row.getFetchedAt().toInstant());
+                articles++;
+            }
+            log.info("🧲 Live cluster index rebuilt — {} articles in {} clusters in {} ms",
+                    articles, clusters.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            clusters.clear();
+            clusterOfArticle.clear();
+            log.warn("⚠️ Could not rebuild live cluster index, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 🔹 Assigns each new article to the closest live cluster or opens a new one.
+     *
+     * Articles that are already members (e.g. a previous run failed before marking
+     * them processed) are not added again, but their cluster still counts as updated.
+     *
+     * @return clusters touched by these articles that have at least two members,
+     *         i.e. the clusters that need (re-)synthesis
+     */
+    public synchronized List<LiveCluster> assign(List<ArticleVector> vectors, double threshold) {
+        evictExpired();
+
+        Set<LiveCluster> updated = new LinkedHashSet<>();
+        for (ArticleVector vector : vectors) {
+            LiveCluster existing = clusterOfArticle.get(vector.id());
+            if (existing != null) {
+                updated.add(existing);
+                continue;
+            }
+
+            updated.add(assign(vector, threshold, Instant.now()));
+        }
+
+        return updated.stream().filter(c -> c.size() >= 2).toList();
+    }
+
+    /** Adds a new article to the closest cluster (or a new one) and returns that cluster */
+    private LiveCluster assign(ArticleVector vector, double threshold, Instant at) {
+        LiveCluster best = null;
+        double bestScore = threshold;
+        for (LiveCluster cluster : clusters) {
+            double score = cluster.centroid.dot(vector.vector());
+            if (score >= bestScore) {
+                best = cluster;
+                bestScore = score;
+            }
+        }
+
+        if (best == null) {
+            best = new LiveCluster(nextClusterId++);
+            clusters.add(best);
+        }
+        best.add(vector, at);
+        clusterOfArticle.put(vector.id(), best);
+        return best;
+    }
+
+    /** 🔹 Remembers which published article a cluster was synthesized into */
+    public synchronized void markPublished(LiveCluster cluster, Long articleId) {
+        cluster.publishedArticleId = articleId;
+    }
+
+    public synchronized int size() {
+        return clusters.size();
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(windowHours));
+        clusters.removeIf(c -> {
+            if (!c.lastUpdated.isBefore(cutoff)) return false;
+            c.getArticleIds().forEach(clusterOfArticle::remove);
+            return true;
+        });
+    }
+
+    /** A story cluster that may keep growing across orchestration runs. */
+    public static final class LiveCluster {
+        private final long id;
+        private final List<ArticleVector> members = new ArrayList<>();
+        private SparseVector centroid = SparseVector.EMPTY;
+        // Running sum of the member vectors (sorted ids); the centroid is this sum normalized
+        private int[] sumIds = new int[0];
+        private double[] sumWeights = new double[0];
+        private Instant lastUpdated = Instant.now();
+        private Long publishedArticleId;
+        // Member pairs at or above relationThreshold among the first relatedMembers members
+        private final List<Relation> relations = new ArrayList<>();
+        private int relatedMembers;
+        private double relationThreshold = Double.NaN;
+
+        private LiveCluster(long id) {
+            this.id = id;
+        }
+
+        private void add(ArticleVector vector, Instant at) {
+            members.add(vector);
+            addToSum(vector.vector());
+            float[] weights = new float[sumWeights.length];
+            for (int i = 0; i < weights.length; i++) weights[i] = (float) sumWeights[i];
+            centroid = SparseVector.ofSorted(sumIds, weights);
+            lastUpdated = at;
+        }
+
+        /** Merge-joins a vector into the running sum: O(sum + vector) instead of re-summing every member */
+        private void addToSum(SparseVector v) {
+            int[] ids = new int[sumIds.length + v.size()];
+            double[] weights = new double[ids.length];
+            int i = 0, j = 0, k = 0;
+            while (i < sumIds.length || j < v.size()) {
+                if (j == v.size() || (i < sumIds.length && sumIds[i] < v.idAt(j))) {
+                    ids[k] = sumIds[i];
+                    weights[k++] = sumWeights[i++];
+                } else if (i == sumIds.length || v.idAt(j) < sumIds[i]) {
+                    ids[k] = v.idAt(j);
+                    weights[k++] = v.weightAt(j++);
+                } else {
+                    ids[k] = sumIds[i];
+                    weights[k++] = sumWeights[i++] + v.weightAt(j++);
+                }
+            }
+            sumIds = Arrays.copyOf(ids, k);
+            sumWeights = Arrays.copyOf(weights, k);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int size() {
+            return members.size();
+        }
+
+        /** The first member never changes, so it stays the primary article across updates. */
+        public Long getPrimaryArticleId() {
+            return members.get(0).id();
+        }
+
+        public List<Long> getArticleIds() {
+            return members.stream().map(ArticleVector::id).toList();
+        }
+
+        public SparseVector getCentroid() {
+            return centroid;
+        }
+
+        public Long getPublishedArticleId() {
+            return publishedArticleId;
+        }
+
+        /**
+         * 🔹 Pairwise member relations above the threshold, for the synthesis prompt.
+         * Pairs already scored are kept, so a run only scores the members added since the last one.
+         */
+        public List<Relation> relations(double threshold) {
+            if (threshold != relationThreshold) {
+                relations.clear();
+                relatedMembers = 0;
+                relationThreshold = threshold;
+            }
+            for (int j = relatedMembers; j < members.size(); j++) {
+                for (int i = 0; i < j; i++) {
+                    double score = members.get(i).vector().dot(members.get(j).vector());
+                    if (score >= threshold) {
+                        relations.add(new Relation(members.get(i).id(), members.get(j).id(), score));
+                    }
+                }
+            }
+            relatedMembers = members.size();
+            return List.copyOf(relations);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Scores only the candidate pairs that share a MinHash/LSH bucket, then reports
+ * recall against brute force on a sample of the batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class LshSearchStrategy implements SimilaritySearchStrategy {
+
+    public static final String NAME = "lsh";
+
+    private final MinHashLshService lsh;
+    private final ParallelSimilarityEngine parallelEngine;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean needsShingles() {
+        return true;
+    }
+
+    @Override
+    public List<SimilarityResult> findSimilar(List<ArticleVector> vectors, double threshold) {
+        List<int[]> candidates = lsh.candidatePairs(vectors.stream().map(ArticleVector::shingles).toList());
+
+        List<SimilarityResult> results;
+        if (parallelEngine.isEnabled()) {
+            results = parallelEngine.scoreCandidates(vectors, candidates, threshold, AllPairsSearchStrategy::cosine);
+        } else {
+            results = new ArrayList<>();
+            for (int[] pair : candidates) {
+                var v1 = vectors.get(pair[0]);
+                var v2 = vectors.get(pair[1]);
+                double score = AllPairsSearchStrategy.cosine(v1, v2);
+                if (score >= threshold) {
+                    results.add(new SimilarityResult(v1.id(), v2.id(), score));
+                }
+            }
+        }
+
+        long total = (long) vectors.size() * (vectors.size() - 1) / 2;
+        System.out.printf("🪣 LSH scored %d of %d pairs%n", candidates.size(), total);
+        reportRecall(vectors, results, threshold);
+        return results;
+    }
+
+    /**
+     * 🔹 Estimates LSH recall against brute force on an evenly spaced sample of articles:
+     * every sampled article is scored against the whole batch, and the share of those
+     * above-threshold pairs that LSH also found is reported. The sample keeps the check
+     * at O(sample × n) instead of reintroducing the full O(n²) scan.
+     */
+    private void reportRecall(List<ArticleVector> vectors, List<SimilarityResult> found, double threshold) {
+        int total = vectors.size();
+        int sampleSize = Math.min(lsh.getRecallSampleSize(), total);
+        if (sampleSize <= 0) return;
+
+        Set<String> foundKeys = new HashSet<>();
+        for (SimilarityResult r : found) foundKeys.add(pairKey(r.id1(), r.id2()));
+
+        Set<String> expected = new HashSet<>();
+        double step = (double) total / sampleSize;
+        for (int s = 0; s < sampleSize; s++) {
+            var v1 = vectors.get((int) (s * step));
+            for (var v2 : vectors) {
+                if (v1 == v2) continue;
+                if (AllPairsSearchStrategy.cosine(v1, v2) >= threshold) {
+                    expected.add(pairKey(v1.id(), v2.id()));
+                }
+            }
+        }
+
+        long hits = expected.stream().filter(foundKeys::contains).count();
+        double recall = expected.isEmpty() ? 1.0 : (double) hits / expected.size();
+        System.out.printf("🎯 LSH recall vs brute force: %.1f%% (%d/%d pairs, sample of %d articles)%n",
+                recall * 100, hits, expected.size(), sampleSize);
+    }
+
+    private static String pairKey(Long a, Long b) {
+        return a < b ? a + ":" + b : b + ":" + a;
+    }
+}
@@ -0,0 +1,151 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Locality-sensitive hashing stage for near-duplicate candidate generation.
+ *
+ * Each article is reduced to a MinHash signature over its token shingles; the
+ * signature is split into {@code bands} bands of {@code rows} values and every band
+ * is hashed into a bucket. Only articles sharing at least one bucket become
+ * candidate pairs for exact cosine scoring, so most unrelated pairs are never scored.
+ *
+ * A pair with shingle Jaccard similarity J becomes a candidate with probability
+ * 1 - (1 - J^rows)^bands, so more bands / fewer rows raise recall at the cost of more candidates.
+ */
+@Service
+public class MinHashLshService {
+
+    // Fixed seeds keep signatures deterministic across runs and restarts
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final int recallSampleSize;
+
+    public MinHashLshService(
+            @Value("${clustering.lsh.bands:50}") int bands,
+            @Value("${clustering.lsh.rows:2}") int rows,
+            @Value("${clustering.lsh.shingle-size:1}") int shingleSize,
+            @Value("${clustering.lsh.recall-sample-size:100}") int recallSampleSize) {
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.recallSampleSize = recallSampleSize;
+    }
+
+    public int getRecallSampleSize() {
+        return recallSampleSize;
+    }
+
+    /** 🔹 Hashes every run of {@code shingleSize} consecutive tokens into a distinct shingle set */
+    public int[] shingleHashes(List<String> tokens) {
+        ShingleCollector collector = newShingleCollector();
+        tokens.forEach(collector::accept);
+        return collector.toArray();
+    }
+
+    /** 🔹 Collector that builds the shingle set while tokens are streamed in */
+    public ShingleCollector newShingleCollector() {
+        return new ShingleCollector(Math.max(1, shingleSize));
+    }
+
+    /**
+     * Rolling window over the last {@code k} token hashes; each full window is one shingle.
+     * Documents shorter than {@code k} tokens yield a single shingle of all their tokens.
+     */
+    public static final class ShingleCollector {
+        private final int[] window;
+        private final Set<Integer> shingles = new HashSet<>();
+        private int seen;
+
+        private ShingleCollector(int k) {
+            this.window = new int[k];
+        }
+
+        public void accept(String token) {
+            window[seen % window.length] = token.hashCode();
+            seen++;
+            if (seen >= window.length) shingles.add(hashWindow(window.length));
+        }
+
+        private int hashWindow(int length) {
+            int h = 1;
+            for (int i = seen - length; i < seen; i++) {
+                h = 31 * h + window[i % window.length];
+            }
+            return h;
+        }
+
+        public int[] toArray() {
+            if (seen > 0 && seen < window.length) shingles.add(hashWindow(seen));
+            int[] result = new int[shingles.size()];
+            int i = 0;
+            for (int h : shingles) result[i++] = h;
+            return result;
+        }
+    }
+
+    /** 🔹 MinHash signature: the minimum of each seeded hash function over the shingle set */
+    public long[] signature(int[] shingles) {
+        int size = bands * rows;
+        long[] sig = new long[size];
+        Arrays.fill(sig, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < size; i++) {
+                long h = mix(shingle ^ (SEED * (i + 1)));
+                if (h < sig[i]) sig[i] = h;
+            }
+        }
+        return sig;
+    }
+
+    /**
+     * 🔹 Bands the signatures into hash buckets and returns candidate pairs as
+     * index pairs {i, j} with i < j into the given list, without duplicates.
+     */
+    public List<int[]> candidatePairs(List<int[]> shingleSets) {
+        int n = shingleSets.size();
+        List<long[]> signatures = new ArrayList<>(n);
+        for (int[] shingles : shingleSets) signatures.add(signature(shingles));
+
+        Set<Long> seen = new HashSet<>();
+        List<int[]> pairs = new ArrayList<>();
+
+        for (int band = 0; band < bands; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int idx = 0; idx < n; idx++) {
+                // Empty documents never collide with anything
+                if (shingleSets.get(idx).length == 0) continue;
+                long[] sig = signatures.get(idx);
+                long key = band;
+                for (int r = 0; r < rows; r++) {
+                    key = mix(key * 31 + sig[band * rows + r]);
+                }
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(idx);
+            }
+
+            for (List<Integer> bucket : buckets.values()) {
+                if (bucket.size() < 2) continue;
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        int i = bucket.get(a), j = bucket.get(b);
+                        if (seen.add((long) i * n + j)) pairs.add(new int[]{i, j});
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /** SplitMix64 finalizer — cheap, well-distributed 64-bit hash */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
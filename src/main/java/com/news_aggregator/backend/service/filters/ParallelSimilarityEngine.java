@@ -0,0 +1,151 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Fork-join pairwise scoring over precomputed article vectors.
+ *
+ * The upper-triangular pair space (i < j) is cut into square tiles of
+ * {@code tileSize} × {@code tileSize} indices. Tiles are split recursively across
+ * the pool; every leaf collects its {@link SimilarityResult}s into its own list and
+ * the lists are merged on join, so workers never share a mutable collection.
+ * The merged output is put back into serial (i, j) order, so parallel and serial
+ * mode return identical pairs for the same input.
+ */
+@Component
+public class ParallelSimilarityEngine {
+
+    private final int parallelism;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+
+    public ParallelSimilarityEngine(
+            @Value("${clustering.parallelism:1}") int parallelism,
+            @Value("${clustering.parallel.tile-size:64}") int tileSize) {
+        this.parallelism = parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.tileSize = Math.max(1, tileSize);
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    /** Parallel mode is on whenever more than one worker is configured (0 = all cores). */
+    public boolean isEnabled() {
+        return pool != null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    /** 🔹 Scores every pair i < j, tile by tile */
+    public List<SimilarityResult> scoreAllPairs(List<ArticleVector> vectors, double threshold,
+                                                ToDoubleBiFunction<ArticleVector, ArticleVector> similarity) {
+        int n = vectors.size();
+        int blocks = (n + tileSize - 1) / tileSize;
+
+        // Upper-triangular tiles only: (row block, column block) with row <= column
+        List<int[]> tiles = new ArrayList<>();
+        for (int bi = 0; bi < blocks; bi++) {
+            for (int bj = bi; bj < blocks; bj++) {
+                tiles.add(new int[]{bi, bj});
+            }
+        }
+
+        List<SimilarityResult> results = pool.invoke(new TileTask(tiles, 0, tiles.size(), (tile, out) -> {
+            int iEnd = Math.min((tile[0] + 1) * tileSize, n);
+            int jEnd = Math.min((tile[1] + 1) * tileSize, n);
+            for (int i = tile[0] * tileSize; i < iEnd; i++) {
+                int jStart = Math.max(tile[1] * tileSize, i + 1);
+                for (int j = jStart; j < jEnd; j++) {
+                    score(vectors.get(i), vectors.get(j), threshold, similarity, out);
+                }
+            }
+        }));
+        return inSerialOrder(results, vectors);
+    }
+
+    /** 🔹 Scores an explicit candidate list (e.g. from LSH) in chunks of {@code tileSize²} pairs */
+    public List<SimilarityResult> scoreCandidates(List<ArticleVector> vectors, List<int[]> candidates, double threshold,
+                                                  ToDoubleBiFunction<ArticleVector, ArticleVector> similarity) {
+        int chunk = tileSize * tileSize;
+        List<int[]> ranges = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += chunk) {
+            ranges.add(new int[]{from, Math.min(from + chunk, candidates.size())});
+        }
+
+        return pool.invoke(new TileTask(ranges, 0, ranges.size(), (range, out) -> {
+            for (int k = range[0]; k < range[1]; k++) {
+                int[] pair = candidates.get(k);
+                score(vectors.get(pair[0]), vectors.get(pair[1]), threshold, similarity, out);
+            }
+        }));
+    }
+
+    private static void score(ArticleVector v1, ArticleVector v2, double threshold,
+                              ToDoubleBiFunction<ArticleVector, ArticleVector> similarity,
+                              List<SimilarityResult> out) {
+        double score = similarity.applyAsDouble(v1, v2);
+        if (score >= threshold) {
+            out.add(new SimilarityResult(v1.id(), v2.id(), score));
+        }
+    }
+
+    /** Restores the order the serial nested loop would have produced (by i, then j). */
+    private static List<SimilarityResult> inSerialOrder(List<SimilarityResult> results, List<ArticleVector> vectors) {
+        Map<Long, Integer> index = new HashMap<>();
+        for (int i = 0; i < vectors.size(); i++) index.put(vectors.get(i).id(), i);
+        results.sort(Comparator
+                .comparingInt((SimilarityResult r) -> index.get(r.id1()))
+                .thenComparingInt(r -> index.get(r.id2())));
+        return results;
+    }
+
+    private interface TileWork {
+        void run(int[] tile, List<SimilarityResult> out);
+    }
+
+    /** Recursively halves the tile range; each leaf fills a worker-local list. */
+    private static final class TileTask extends RecursiveTask<List<SimilarityResult>> {
+        private final List<int[]> tiles;
+        private final int from;
+        private final int to;
+        private final TileWork work;
+
+        TileTask(List<int[]> tiles, int from, int to, TileWork work) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.work = work;
+        }
+
+        @Override
+        protected List<SimilarityResult> compute() {
+            if (to - from <= 1) {
+                List<SimilarityResult> local = new ArrayList<>();
+                if (from < to) work.run(tiles.get(from), local);
+                return local;
+            }
+            int mid = (from + to) >>> 1;
+            TileTask left = new TileTask(tiles, from, mid, work);
+            TileTask right = new TileTask(tiles, mid, to, work);
+            left.fork();
+            List<SimilarityResult> rightResults = right.compute();
+            List<SimilarityResult> merged = left.join();
+            merged.addAll(rightResults);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.repository.ArticleRepository;
+import com.news_aggregator.backend.repository.ArticleVectorView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-batch dedupe before synthesis: compares each cluster's centroid with the
+ * stored vectors of articles published within the window, so a batch about a story
+ * we already covered is not sent to Gemini again. Published articles without a stored
+ * vector are backfilled first ({@link TermVectorBackfill}), so none of them is missed.
+ */
+@Service
+public class PublishedArticleDeduplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishedArticleDeduplicator.class);
+
+    private final ArticleRepository articleRepository;
+    private final TfidfSimilarityService tfidfSimilarityService;
+    private final TermVectorBackfill termVectorBackfill;
+    private final boolean enabled;
+    private final long windowHours;
+    private final double threshold;
+
+    public PublishedArticleDeduplicator(
+            ArticleRepository articleRepository,
+            TfidfSimilarityService tfidfSimilarityService,
+            TermVectorBackfill termVectorBackfill,
+            @Value("${clustering.published-dedupe.enabled:true}") boolean enabled,
+            @Value("${clustering.published-dedupe.window-hours:48}") long windowHours,
+            @Value("${clustering.published-dedupe.threshold:0.5}") double threshold) {
+        this.articleRepository = articleRepository;
+        this.tfidfSimilarityService = tfidfSimilarityService;
+        this.termVectorBackfill = termVectorBackfill;
+        this.enabled = enabled;
+        this.windowHours = windowHours;
+        this.threshold = threshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getWindowHours() {
+        return windowHours;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 🔹 Finds the best matching recently published article for each cluster centroid.
+     *
+     * @param centroids cluster key (e.g. primary raw article id) → unit-length centroid
+     * @return cluster key → published article id, only for clusters at or above the threshold
+     */
+    public Map<Long, Long> findPublishedMatches(Map<Long, SparseVector> centroids) {
+        Map<Long, Long> matches = new HashMap<>();
+        if (!enabled || centroids.isEmpty()) return matches;
+
+        try {
+            termVectorBackfill.backfillArticles();
+        } catch (Exception e) {
+            log.warn("⚠️ Could not backfill article term vectors, comparing with those that exist: {}", e.getMessage());
+        }
+        List<ArticleVectorView> rows = articleRepository.findByPublishedAtAfterAndTermVectorIsNotNull(
+                OffsetDateTime.now().minusHours(windowHours));
+        if (rows.isEmpty()) return matches;
+
+        List<Long> publishedIds = new ArrayList<>(rows.size());
+        List<SparseVector> published = new ArrayList<>(rows.size());
+        for (ArticleVectorView row : rows) {
+            publishedIds.add(row.getId());
+            published.add(tfidfSimilarityService.fromStored(row.getTermVector()));
+        }
+
+        centroids.forEach((key, centroid) -> {
+            double best = threshold;
+            Long bestId = null;
+            for (int i = 0; i < published.size(); i++) {
+                double score = centroid.dot(published.get(i));
+                if (score >= best) {
+                    best = score;
+                    bestId = publishedIds.get(i);
+                }
+            }
+            if (bestId != null) matches.put(key, bestId);
+        });
+        return matches;
+    }
+}
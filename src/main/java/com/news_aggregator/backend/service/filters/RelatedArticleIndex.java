@@ -0,0 +1,106 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.repository.ArticleRepository;
+import com.news_aggregator.backend.repository.ArticleVectorView;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * "More like this" lookups over published articles, backed by an in-memory {@link HnswIndex}.
+ *
+ * The index is rebuilt from the stored {@code articles.term_vector} column at startup (after
+ * backfilling articles that have none) and updated as synthesized articles are saved, so a
+ * lookup never scans the table.
+ * IDF weights are frozen at insert time; the drift is negligible for ranking neighbours.
+ */
+@Service
+public class RelatedArticleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedArticleIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final TfidfSimilarityService tfidfSimilarityService;
+    private final TermVectorBackfill termVectorBackfill;
+    private final HnswIndex index;
+    private final double minSimilarity;
+
+    public RelatedArticleIndex(
+            ArticleRepository articleRepository,
+            TfidfSimilarityService tfidfSimilarityService,
+            TermVectorBackfill termVectorBackfill,
+            @Value("${articles.related.hnsw.m:16}") int m,
+            @Value("${articles.related.hnsw.ef-construction:100}") int efConstruction,
+            @Value("${articles.related.hnsw.ef-search:64}") int efSearch,
+            @Value("${articles.related.min-similarity:0.1}") double minSimilarity) {
+        this.articleRepository = articleRepository;
+        this.tfidfSimilarityService = tfidfSimilarityService;
+        this.termVectorBackfill = termVectorBackfill;
+        this.index = new HnswIndex(m, efConstruction, efSearch);
+        this.minSimilarity = minSimilarity;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        try {
+            termVectorBackfill.backfillArticles();
+        } catch (Exception e) {
+            log.warn("⚠️ Could not backfill article term vectors, indexing those that exist: {}", e.getMessage());
+        }
+        try {
+            long start = System.nanoTime();
+            for (ArticleVectorView row : articleRepository.findByTermVectorIsNotNull()) {
+                add(row.getId(), row.getTermVector());
+            }
+            log.info("🔗 Related-article index built — {} articles in {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not build related-article index, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /** 🔹 Adds or replaces a published article's vector */
+    public void add(Long articleId, byte[] termVector) {
+        if (articleId == null || termVector == null) return;
+        SparseVector vector = tfidfSimilarityService.fromStored(termVector);
+        if (vector.size() == 0) {
+            log.warn("⚠️ Article {} has an empty term vector, not indexed for related articles", articleId);
+            index.remove(articleId);
+            return;
+        }
+        index.insert(articleId, vector);
+    }
+
+    /**
+     * 🔹 Adds a published article's vector once the surrounding transaction commits (right away
+     * when there is none), so a rolled-back save never leaves a node behind.
+     */
+    public void addAfterCommit(Long articleId, byte[] termVector) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(articleId, termVector);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(articleId, termVector);
+            }
+        });
+    }
+
+    /** 🔹 Ids of the most similar published articles, best first; empty if the article is not indexed */
+    public List<Long> related(Long articleId, int limit) {
+        SparseVector vector = index.vectorOf(articleId);
+        if (vector == null) return List.of();
+        return index.search(vector, limit, articleId).stream()
+                .filter(n -> n.similarity() >= minSimilarity)
+                .map(HnswIndex.Neighbor::key)
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 64-bit SimHash fingerprints for near-duplicate detection at ingest time.
+ *
+ * Syndicated copies of a story with slightly different titles produce fingerprints
+ * a few bits apart. The fingerprint is split into four 16-bit bands; by pigeonhole,
+ * two fingerprints within Hamming distance 3 agree exactly on at least one band,
+ * so a lookup on the (indexed) bands finds every near-duplicate candidate.
+ */
+@Service
+@RequiredArgsConstructor
+public class SimHashService {
+
+    public static final int BANDS = 4;
+    private static final int BAND_BITS = 64 / BANDS;
+    private static final long BAND_MASK = (1L << BAND_BITS) - 1;
+
+    private final ArticleTokenizer tokenizer;
+    private final RawArticleRepository rawRepo;
+
+    @Value("${ingest.simhash.max-distance:3}")
+    private int maxDistance;
+
+    /** 🔹 SimHash over the analyzed tokens of title + description + content, weighted by term count */
+    public long compute(String title, String description, String content) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : tokenizer.tokenize(tokenizer.fullText(title, description, content))) {
+            counts.merge(token, 1, Integer::sum);
+        }
+
+        int[] v = new int[64];
+        counts.forEach((token, count) -> {
+            long h = fnv1a64(token);
+            for (int bit = 0; bit < 64; bit++) {
+                v[bit] += ((h >>> bit) & 1L) != 0 ? count : -count;
+            }
+        });
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (v[bit] > 0) fingerprint |= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    /** 🔹 Extracts band {@code i} (0 = most significant 16 bits) */
+    public static int band(long fingerprint, int i) {
+        return (int) ((fingerprint >>> (64 - BAND_BITS * (i + 1))) & BAND_MASK);
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * 🔹 Loads the stored fingerprints that share a band with any of a page's fingerprints,
+     * in one query, so each item is then tested in memory.
+     */
+    public PageNearDuplicates forPage(Collection<Long> fingerprints) {
+        StringJoiner[] bands = new StringJoiner[BANDS];
+        for (int i = 0; i < BANDS; i++) bands[i] = new StringJoiner(" ");
+        for (long fingerprint : new HashSet<>(fingerprints)) {
+            if (fingerprint == 0) continue;
+            for (int i = 0; i < BANDS; i++) bands[i].add(Integer.toString(band(fingerprint, i)));
+        }
+
+        List<Long> stored = new ArrayList<>();
+        if (bands[0].length() > 0) {
+            for (Long candidate : rawRepo.findSimhashesSharingBand(
+                    bands[0].toString(), bands[1].toString(), bands[2].toString(), bands[3].toString())) {
+                if (candidate != null) stored.add(candidate);
+            }
+        }
+        return new PageNearDuplicates(stored, Math.min(maxDistance, BANDS - 1));
+    }
+
+    /** Stored band candidates of one page, plus the fingerprints of the page's items kept so far */
+    public static final class PageNearDuplicates {
+
+        private final List<Long> fingerprints;
+        private final int maxDistance;
+
+        PageNearDuplicates(List<Long> stored, int maxDistance) {
+            this.fingerprints = stored;
+            this.maxDistance = maxDistance;
+        }
+
+        /**
+         * 🔹 True when a stored raw article or an earlier item of the page lies within
+         * {@code ingest.simhash.max-distance} bits (exact only up to distance {@code BANDS - 1};
+         * larger settings are capped); otherwise remembers the fingerprint for the rest of the page.
+         */
+        public boolean isNearDuplicate(long fingerprint) {
+            if (fingerprint == 0) return false; // no text to fingerprint
+            for (long other : fingerprints) {
+                if (hammingDistance(other, fingerprint) <= maxDistance) return true;
+            }
+            fingerprints.add(fingerprint);
+            return false;
+        }
+    }
+
+    private static long fnv1a64(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,30 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+
+import java.util.List;
+
+/**
+ * Finds all article pairs whose cosine similarity reaches the threshold.
+ *
+ * Implementations differ only in how they avoid scoring hopeless pairs; the one
+ * used by the orchestration run is chosen with {@code clustering.strategy}.
+ */
+public interface SimilaritySearchStrategy {
+
+    /** Name used in {@code clustering.strategy}. */
+    String getName();
+
+    /** Whether vectors must carry MinHash shingles for this strategy. */
+    default boolean needsShingles() {
+        return false;
+    }
+
+    /**
+     * @param vectors   precomputed unit-length article vectors
+     * @param threshold minimum cosine similarity
+     * @return pairs (id1 earlier in the list than id2) at or above the threshold
+     */
+    List<SimilarityResult> findSimilar(List<ArticleVector> vectors, double threshold);
+}
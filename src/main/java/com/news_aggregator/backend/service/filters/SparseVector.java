@@ -0,0 +1,139 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable sparse term vector: term ids sorted ascending with parallel weights,
+ * pre-normalized to unit length.
+ *
+ * Because both vectors are unit length, cosine similarity is just the dot product,
+ * computed as an allocation-free merge-join over the two sorted id arrays.
+ */
+public final class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] ids;
+    private final float[] weights;
+
+    private SparseVector(int[] ids, float[] weights) {
+        this.ids = ids;
+        this.weights = weights;
+    }
+
+    /** 🔹 Builds a unit-length vector from term weights, resolving terms through the dictionary */
+    public static SparseVector of(Map<String, Double> termWeights, TermDictionary dictionary) {
+        int n = termWeights.size();
+        if (n == 0) return EMPTY;
+
+        long[] packed = new long[n];
+        double[] values = new double[n];
+        int k = 0;
+        for (Map.Entry<String, Double> e : termWeights.entrySet()) {
+            values[k] = e.getValue();
+            // id in the high bits, entry index in the low bits: one primitive sort groups equal ids
+            packed[k] = ((long) dictionary.idOf(e.getKey()) << 32) | k;
+            k++;
+        }
+        Arrays.sort(packed);
+
+        int[] ids = new int[n];
+        float[] weights = new float[n];
+        int m = 0;
+        for (int i = 0; i < n; m++) {
+            int id = (int) (packed[i] >> 32);
+            double sum = 0;
+            for (; i < n && (int) (packed[i] >> 32) == id; i++) sum += values[(int) packed[i]];
+            ids[m] = id;
+            weights[m] = (float) sum;
+        }
+        return m == n ? ofSorted(ids, weights) : ofSorted(Arrays.copyOf(ids, m), Arrays.copyOf(weights, m));
+    }
+
+    /** 🔹 Builds a unit-length vector from weights already keyed by term id */
+    public static SparseVector ofIds(Map<Integer, Double> idWeights) {
+        int n = idWeights.size();
+        if (n == 0) return EMPTY;
+
+        long[] packed = new long[n];
+        double norm = 0;
+        int k = 0;
+        for (Map.Entry<Integer, Double> e : idWeights.entrySet()) {
+            float w = e.getValue().floatValue();
+            norm += (double) w * w;
+            // id in the high bits, weight bits in the low bits: one primitive sort keeps them paired
+            packed[k++] = ((long) e.getKey() << 32) | (Float.floatToRawIntBits(w) & 0xFFFFFFFFL);
+        }
+        if (norm == 0) return EMPTY;
+        Arrays.sort(packed);
+
+        int[] ids = new int[n];
+        float[] weights = new float[n];
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < n; i++) {
+            ids[i] = (int) (packed[i] >>> 32);
+            weights[i] = Float.intBitsToFloat((int) packed[i]) * scale;
+        }
+        return new SparseVector(ids, weights);
+    }
+
+    /** 🔹 Builds a unit-length vector from ids already sorted ascending; normalizes the weights in place */
+    public static SparseVector ofSorted(int[] ids, float[] weights) {
+        double norm = 0;
+        for (float w : weights) norm += (double) w * w;
+        if (norm == 0) return EMPTY;
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < weights.length; i++) weights[i] *= scale;
+        return new SparseVector(ids, weights);
+    }
+
+    /** Wraps already sorted ids and weights as-is (no normalization), e.g. for partial vectors. */
+    static SparseVector wrap(int[] ids, float[] weights) {
+        return new SparseVector(ids, weights);
+    }
+
+    /** 🔹 Unit-length centroid (normalized sum) of a group of vectors */
+    public static SparseVector centroid(Collection<SparseVector> vectors) {
+        Map<Integer, Double> sum = new HashMap<>();
+        for (SparseVector v : vectors) {
+            for (int i = 0; i < v.ids.length; i++) {
+                sum.merge(v.ids[i], (double) v.weights[i], Double::sum);
+            }
+        }
+        return ofIds(sum);
+    }
+
+    /** 🔹 Dot product via merge-join; equals cosine similarity for unit vectors */
+    public double dot(SparseVector other) {
+        int[] aIds = ids, bIds = other.ids;
+        float[] aW = weights, bW = other.weights;
+        int i = 0, j = 0;
+        double dot = 0;
+        while (i < aIds.length && j < bIds.length) {
+            int a = aIds[i], b = bIds[j];
+            if (a == b) {
+                dot += aW[i++] * bW[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return dot;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public float weightAt(int index) {
+        return weights[index];
+    }
+}
@@ -0,0 +1,72 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps analyzed tokens to dense int ids so similarity vectors can be stored
+ * as primitive arrays instead of {@code Map<String, Double>}.
+ *
+ * Terms known to the corpus use their {@code corpus_terms.id} (registered by
+ * {@link CorpusStatsService}), so ids are stable across restarts and can be persisted
+ * in stored term vectors. Terms outside the corpus get a negative transient id on
+ * first sight, which is only valid for the lifetime of the process.
+ *
+ * A term keeps the first id it was given for the lifetime of the process, even when it is
+ * registered later: vectors built before and after the registration must agree. Stored
+ * vectors are keyed by corpus id, so they are read back through {@link #idOfPersistent}.
+ */
+@Component
+public class TermDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> terms = new ConcurrentHashMap<>();
+    private final Map<String, Integer> persistentIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> persistentTerms = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTransientId = new AtomicInteger(-1);
+
+    /** 🔹 Returns the id of a term, assigning a transient id if it is not in the corpus yet */
+    public int idOf(String term) {
+        Integer id = ids.get(term);
+        if (id != null) return id;
+        return ids.computeIfAbsent(term, t -> {
+            Integer persistentId = persistentIds.get(t);
+            int newId = persistentId != null ? persistentId : nextTransientId.getAndDecrement();
+            terms.put(newId, t);
+            return newId;
+        });
+    }
+
+    /** 🔹 Persistent (corpus) id of a term, or -1 if the term has none */
+    public int persistentIdOf(String term) {
+        return persistentIds.getOrDefault(term, -1);
+    }
+
+    /**
+     * 🔹 Id used in this process for a term of a stored vector: the corpus id itself unless
+     * the term already had a transient id when it was registered.
+     */
+    public int idOfPersistent(int persistentId) {
+        String term = persistentTerms.get(persistentId);
+        return term != null ? idOf(term) : persistentId;
+    }
+
+    /** 🔹 Binds a term to its {@code corpus_terms.id}; a term already in use keeps its id */
+    public void register(String term, int id) {
+        persistentIds.put(term, id);
+        persistentTerms.put(id, term);
+        idOf(term);
+    }
+
+    /** Term of an id returned by {@link #idOf} or {@link #idOfPersistent} */
+    public String termOf(int id) {
+        return terms.get(id);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
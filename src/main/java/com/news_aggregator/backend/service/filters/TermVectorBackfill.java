@@ -0,0 +1,99 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.repository.ArticleRepository;
+import com.news_aggregator.backend.repository.ArticleTextView;
+import com.news_aggregator.backend.repository.RawArticleBatchWriter;
+import com.news_aggregator.backend.repository.RawArticleClusterView;
+import com.news_aggregator.backend.repository.RawArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills {@code term_vector} for rows stored before the column existed (V4), so everything
+ * that reads stored vectors (related articles, published-article dedupe, clustering) also
+ * sees historical articles.
+ *
+ * Raw articles are backfilled once at startup; published articles whenever a reader of their
+ * vectors asks (see {@link RelatedArticleIndex}). Rows are read in id order, a page at a time,
+ * so a finished backfill costs one empty query.
+ */
+@Service
+@RequiredArgsConstructor
+public class TermVectorBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TermVectorBackfill.class);
+    private static final int PAGE_SIZE = 500;
+
+    private final ArticleRepository articleRepository;
+    private final RawArticleRepository rawRepo;
+    private final RawArticleBatchWriter batchWriter;
+    private final CorpusStatsService corpusStats;
+
+    @PostConstruct
+    void backfillRawArticlesAtStartup() {
+        try {
+            int filled = backfillRawArticles();
+            if (filled > 0) log.info("🧮 Backfilled term vectors of {} raw articles", filled);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not backfill raw article term vectors: {}", e.getMessage());
+        }
+    }
+
+    /** 🔹 Stores vectors for published articles that have none; returns how many were filled */
+    public synchronized int backfillArticles() {
+        int filled = 0;
+        long afterId = 0;
+        List<ArticleTextView> page;
+        do {
+            page = articleRepository.findByTermVectorIsNullAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            List<Map<String, Float>> terms = new ArrayList<>(page.size());
+            for (ArticleTextView a : page) {
+                terms.add(corpusStats.termFrequencies(a.getTitle(), a.getSummary(), a.getContent()));
+            }
+            List<byte[]> vectors = corpusStats.termVectors(terms);
+            for (int i = 0; i < page.size(); i++) {
+                articleRepository.updateTermVector(page.get(i).getId(), vectors.get(i));
+            }
+            filled += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == PAGE_SIZE);
+
+        if (filled > 0) log.info("🧮 Backfilled term vectors of {} published articles", filled);
+        return filled;
+    }
+
+    /** 🔹 Stores vectors for raw articles that have none; returns how many were filled */
+    public synchronized int backfillRawArticles() {
+        int filled = 0;
+        long afterId = 0;
+        List<RawArticleClusterView> page;
+        do {
+            page = rawRepo.findByTermVectorIsNullAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            List<Map<String, Float>> terms = new ArrayList<>(page.size());
+            for (RawArticleClusterView raw : page) {
+                terms.add(corpusStats.termFrequencies(raw.getTitle(), raw.getDescription(), raw.getContent()));
+            }
+            List<byte[]> vectors = corpusStats.termVectors(terms);
+            Map<Long, byte[]> byId = new LinkedHashMap<>();
+            for (int i = 0; i < page.size(); i++) byId.put(page.get(i).getId(), vectors.get(i));
+            batchWriter.updateTermVectors(byId);
+
+            filled += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == PAGE_SIZE);
+        return filled;
+    }
+}
@@ -0,0 +1,77 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact binary form of a stored term vector ({@code term_vector} columns).
+ *
+ * Layout: varint term count, then delta-encoded varint term ids (ascending
+ * {@code corpus_terms.id}), then one float32 weighted term frequency per term.
+ * Frequencies are stored instead of TF-IDF weights so vectors stay valid while
+ * document frequencies keep changing; IDF is applied when a vector is loaded.
+ */
+public final class TermVectorCodec {
+
+    public record TermFrequencies(int[] termIds, float[] frequencies) {}
+
+    private TermVectorCodec() {}
+
+    /** 🔹 Encodes term ids with their frequencies (persistent ids are positive, but any int round-trips) */
+    public static byte[] encode(Map<Integer, Float> frequencies) {
+        int n = frequencies.size();
+        int[] termIds = new int[n];
+        int k = 0;
+        for (int id : frequencies.keySet()) termIds[k++] = id;
+        Arrays.sort(termIds);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(n * 6 + 5);
+        writeVarint(out, n);
+        int previous = 0;
+        for (int id : termIds) {
+            writeVarint(out, id - previous);
+            previous = id;
+        }
+        ByteBuffer weights = ByteBuffer.allocate(n * Float.BYTES);
+        for (int id : termIds) weights.putFloat(frequencies.get(id));
+        out.writeBytes(weights.array());
+        return out.toByteArray();
+    }
+
+    /** 🔹 Decodes a stored vector; term ids come back sorted ascending */
+    public static TermFrequencies decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int n = readVarint(in);
+        int[] termIds = new int[n];
+        int previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += readVarint(in);
+            termIds[i] = previous;
+        }
+        float[] frequencies = new float[n];
+        for (int i = 0; i < n; i++) frequencies[i] = in.getFloat();
+        return new TermFrequencies(termIds, frequencies);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -3,13 +3,21 @@ package com.news_aggregator.backend.service.filters;
 import org.jsoup.Jsoup;
 import org.springframework.stereotype.Service;
 
+import java.util.regex.Pattern;
+
 @Service
 public class TextNormalizerService {
 
+    private static final Pattern TRUNCATION_MARKER = Pattern.compile("\\[\\+\\d+ chars\\]");
+
     /**
      * 🧼 Removes HTML tags and extra whitespace from a string.
      * Works best for Guardian articles that come with embedded HTML.
      *
+     * Plain text (no {@code <} or {@code &}) only has its whitespace collapsed; simple markup
+     * goes through {@link HtmlTextStripper}; only markup it does not support is parsed with Jsoup.
+     * All three paths give the same result as {@code Jsoup.parse(html).text()}.
+     *
      * @param html the HTML text to clean
      * @return cleaned plain text
      */
@@ -18,9 +26,20 @@ public class TextNormalizerService {
             return null;
         }
 
+        // NUL handling differs between Jsoup's tokenizer states; leave it to Jsoup
+        if (html.indexOf('\u0000') < 0) {
+            if (html.indexOf('<') < 0 && html.indexOf('&') < 0) {
+                return collapseWhitespace(html, true);
+            }
+            String text = HtmlTextStripper.strip(html);
+            if (text != null) {
+                return collapseWhitespace(text, true);
+            }
+        }
+
         // Parse and strip HTML tags using Jsoup
         String text = Jsoup.parse(html).text();
-        return text.replaceAll("\\s+", " ").trim();
+        return collapseWhitespace(text, false);
     }
 
     /**
@@ -32,7 +51,8 @@ public class TextNormalizerService {
      */
     public String removeTruncationMarker(String content) {
         if (content == null) return null;
-        return content.replaceAll("\\[\\+\\d+ chars\\]", "").trim();
+        if (content.indexOf("[+") < 0) return content.trim();
+        return TRUNCATION_MARKER.matcher(content).replaceAll("").trim();
     }
 
     /**
@@ -45,4 +65,48 @@ public class TextNormalizerService {
         text = removeTruncationMarker(text);
         return text;
     }
+
+    /**
+     * Collapses whitespace runs to one space and trims, returning the input itself when
+     * nothing changes. With {@code asJsoupText} it also applies what Jsoup's text() does to
+     * ordinary text nodes: non-breaking spaces count as whitespace and invisible characters
+     * are dropped.
+     */
+    static String collapseWhitespace(String text, boolean asJsoupText) {
+        int n = text.length();
+        StringBuilder out = null;
+        int copied = 0;              // text[copied, i) is unchanged but not yet appended to out
+        boolean lastWasSpace = true; // leading whitespace is dropped
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c) || (asJsoupText && c == '\u00A0')) {
+                if (c == ' ' && !lastWasSpace) {
+                    lastWasSpace = true;
+                    continue;
+                }
+                if (out == null) out = new StringBuilder(n);
+                out.append(text, copied, i);
+                if (!lastWasSpace) out.append(' ');
+                copied = i + 1;
+                lastWasSpace = true;
+            } else if (asJsoupText && isInvisible(c)) {
+                if (out == null) out = new StringBuilder(n);
+                out.append(text, copied, i);
+                copied = i + 1;
+            } else {
+                lastWasSpace = false;
+            }
+        }
+        if (out == null) return text.trim();
+        return out.append(text, copied, n).toString().trim();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u000B';
+    }
+
+    // zero-width space and soft hyphen, see org.jsoup.internal.StringUtil#isInvisibleChar
+    private static boolean isInvisible(char c) {
+        return c == '\u200B' || c == '\u00AD';
+    }
 }
@@ -1,46 +1,24 @@
 package com.news_aggregator.backend.service.filters;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.analysis.en.EnglishAnalyzer;
-import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.io.StringReader;
+import java.time.OffsetDateTime;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class TfidfSimilarityService {
 
-    private final Analyzer analyzer = new EnglishAnalyzer();
-
-    /** 🔹 Convert article text into normalized tokens */
-    private List<String> tokenize(String text) {
-        List<String> tokens = new ArrayList<>();
-        try (var ts = analyzer.tokenStream("field", new StringReader(text == null ? "" : text))) {
-            ts.reset();
-            while (ts.incrementToken()) {
-                tokens.add(ts.getAttribute(CharTermAttribute.class).toString());
-            }
-            ts.end();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return tokens;
-    }
-
-    /** 🔹 Build simple term frequency vector */
-    private Map<String, Double> termFrequency(List<String> tokens) {
-        Map<String, Double> tf = new HashMap<>();
-        for (String t : tokens) tf.put(t, tf.getOrDefault(t, 0.0) + 1.0);
-        double total = tokens.size();
-        tf.replaceAll((k, v) -> v / total);
-        return tf;
-    }
+    private final ArticleTokenizer tokenizer;
+    private final CorpusStatsService corpusStats;
+    private final MinHashLshService lsh;
+    private final TermDictionary dictionary;
 
-    /** 🔹 Cosine similarity between two term frequency vectors */
+    /**
+     * 🔹 Cosine similarity between two weighted term vectors.
+     * Reference implementation; the pair loop uses {@link SparseVector#dot} instead.
+     */
     public double cosineSimilarity(Map<String, Double> vec1, Map<String, Double> vec2) {
         Set<String> all = new HashSet<>(vec1.keySet());
         all.addAll(vec2.keySet());
@@ -55,60 +33,103 @@ public class TfidfSimilarityService {
         return (mag1 == 0 || mag2 == 0) ? 0 : dot / (Math.sqrt(mag1) * Math.sqrt(mag2));
     }
 
-    /** 🔹 Compute similarity using title + description + content */
-    private double computeArticleSimilarity(String title1, String desc1, String content1,
-                                            String title2, String desc2, String content2) {
+    /** 🔹 Tokenize title + description + content once into an immutable TF-IDF vector */
+    public ArticleVector vectorize(ArticleMinimal article) {
+        return vectorize(article, false);
+    }
 
-        String full1 = String.join(" ",
-                Optional.ofNullable(title1).orElse(""),
-                Optional.ofNullable(desc1).orElse(""),
-                Optional.ofNullable(content1).orElse(""));
+    /**
+     * 🔹 Same as {@link #vectorize(ArticleMinimal)}, optionally also deriving MinHash
+     * shingle hashes from the same token stream for LSH candidate search.
+     *
+     * Terms are streamed field by field (with the tokenizer's field weights and caps)
+     * straight into the weight map; no token list or joined text is built. Articles
+     * carrying a stored term vector skip the analyzer entirely unless shingles are needed.
+     */
+    public ArticleVector vectorize(ArticleMinimal article, boolean withShingles) {
+        long publishedAt = article.publishedAt() != null ? article.publishedAt().toInstant().toEpochMilli() : 0L;
+        if (article.termVector() != null && !withShingles) {
+            return new ArticleVector(article.id(), fromStored(article.termVector()), new int[0], publishedAt);
+        }
 
-        String full2 = String.join(" ",
-                Optional.ofNullable(title2).orElse(""),
-                Optional.ofNullable(desc2).orElse(""),
-                Optional.ofNullable(content2).orElse(""));
+        Map<String, Double> weights = new HashMap<>();
+        MinHashLshService.ShingleCollector shingles = withShingles ? lsh.newShingleCollector() : null;
 
-        var tokens1 = tokenize(full1);
-        var tokens2 = tokenize(full2);
+        tokenizer.forEachTerm(article.title(), article.description(), article.content(), (term, weight) -> {
+            weights.merge(term, (double) weight, Double::sum);
+            if (shingles != null) shingles.accept(term);
+        });
 
-        var tf1 = termFrequency(tokens1);
-        var tf2 = termFrequency(tokens2);
+        // TF-IDF: weighted term frequency × corpus IDF (length normalization happens in SparseVector)
+        weights.replaceAll((term, tf) -> tf * corpusStats.idf(term));
+        return new ArticleVector(article.id(), SparseVector.of(weights, dictionary),
+                shingles != null ? shingles.toArray() : new int[0], publishedAt);
+    }
 
-        return cosineSimilarity(tf1, tf2);
+    /** 🔹 TF-IDF vector from stored term frequencies, weighted with the current corpus IDF */
+    public SparseVector fromStored(byte[] termVector) {
+        TermVectorCodec.TermFrequencies stored = TermVectorCodec.decode(termVector);
+        int[] ids = stored.termIds();
+        float[] weights = stored.frequencies();
+        boolean sorted = true;
+        for (int i = 0; i < ids.length; i++) {
+            // Stored ids are corpus ids; a term seen before it was registered keeps its transient id
+            ids[i] = dictionary.idOfPersistent(ids[i]);
+            weights[i] *= (float) corpusStats.idf(dictionary.termOf(ids[i]));
+            if (i > 0 && ids[i] <= ids[i - 1]) sorted = false;
+        }
+        if (sorted) return SparseVector.ofSorted(ids, weights);
+
+        Map<Integer, Double> byId = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) byId.merge(ids[i], (double) weights[i], Double::sum);
+        return SparseVector.ofIds(byId);
     }
 
     /**
-     * 🔹 Compare all articles pairwise and return only minimal info:
+     * 🔹 Find all article pairs at or above the threshold and return only minimal info:
      * id1, id2, similarity score
+     *
+     * Each article is vectorized exactly once up front; the search strategy
+     * then only works on the precomputed vectors.
      */
-    public List<SimilarityResult> findSimilarArticles(List<ArticleMinimal> articles, double threshold) {
-        List<SimilarityResult> results = new ArrayList<>();
+    public List<SimilarityResult> findSimilarArticles(List<ArticleMinimal> articles, double threshold,
+                                                      SimilaritySearchStrategy strategy) {
         int total = articles.size();
-        System.out.printf("🔍 Starting TF-IDF comparisons for %d articles...%n", total);
-
-        for (int i = 0; i < total; i++) {
-            for (int j = i + 1; j < total; j++) {
-                var a1 = articles.get(i);
-                var a2 = articles.get(j);
-
-                double score = computeArticleSimilarity(
-                        a1.title(), a1.description(), a1.content(),
-                        a2.title(), a2.description(), a2.content()
-                );
-
-                if (score >= threshold) {
-                    results.add(new SimilarityResult(a1.id(), a2.id(), score));
-                }
-            }
+        System.out.printf("🔍 Starting TF-IDF comparisons for %d articles (%s)...%n", total, strategy.getName());
+
+        long vectorizeStart = System.nanoTime();
+        List<ArticleVector> vectors = new ArrayList<>(total);
+        for (ArticleMinimal article : articles) {
+            vectors.add(vectorize(article, strategy.needsShingles()));
         }
+        long vectorizeMs = (System.nanoTime() - vectorizeStart) / 1_000_000;
 
+        long compareStart = System.nanoTime();
+        List<SimilarityResult> results = strategy.findSimilar(vectors, threshold);
+        long compareMs = (System.nanoTime() - compareStart) / 1_000_000;
+
+        System.out.printf("⏱ Vectorize phase: %d ms | Compare phase: %d ms%n", vectorizeMs, compareMs);
         System.out.printf("✅ Completed comparisons: %d pairs above threshold %.2f%n",
                 results.size(), threshold);
         return results;
     }
 
-    /** 🔹 Record classes (lightweight only) */
-    public static record ArticleMinimal(Long id, String title, String description, String content) {}
+    // 🔹 Record classes (lightweight only)
+    /**
+     * Article text for vectorization; {@code termVector} is the stored encoding when one exists,
+     * {@code publishedAt} is used for time-window blocking.
+     */
+    public static record ArticleMinimal(Long id, String title, String description, String content,
+                                        byte[] termVector, OffsetDateTime publishedAt) {
+        public ArticleMinimal(Long id, String title, String description, String content) {
+            this(id, title, description, content, null, null);
+        }
+    }
     public static record SimilarityResult(Long id1, Long id2, double similarity) {}
+    /** {@code publishedAt} is epoch millis (0 when unknown). */
+    public static record ArticleVector(Long id, SparseVector vector, int[] shingles, long publishedAt) {
+        public ArticleVector(Long id, SparseVector vector, int[] shingles) {
+            this(id, vector, shingles, 0L);
+        }
+    }
 }
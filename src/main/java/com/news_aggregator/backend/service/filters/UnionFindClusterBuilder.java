@@ -0,0 +1,97 @@
+package com.news_aggregator.backend.service.filters;
+
+import java.util.*;
+
+/**
+ * Disjoint-set (union-find) clustering over primitive article ids.
+ *
+ * Every relation is unioned once, then assigned to its cluster root in a single
+ * pass, so building clusters and their relations is linear in the number of
+ * pairs — instead of re-scanning every pair for every connected component.
+ *
+ * Clusters and their members come out in order of first appearance in the input.
+ */
+public final class UnionFindClusterBuilder {
+
+    private UnionFindClusterBuilder() {}
+
+    public record Relation(long id1, long id2, double similarity) {}
+
+    public record Cluster(List<Long> articleIds, List<Relation> relations) {}
+
+    /**
+     * 🔹 Groups the given relations into connected components.
+     *
+     * @param id1        first article id of each relation
+     * @param id2        second article id of each relation
+     * @param similarity similarity score of each relation
+     * @param count      number of relations to read from the arrays
+     */
+    public static List<Cluster> build(long[] id1, long[] id2, double[] similarity, int count) {
+        // Compress article ids into dense indices
+        Map<Long, Integer> index = new HashMap<>();
+        long[] ids = new long[Math.max(2 * count, 1)];
+        int[] a = new int[count];
+        int[] b = new int[count];
+        for (int k = 0; k < count; k++) {
+            a[k] = index.computeIfAbsent(id1[k], id -> index.size());
+            ids[a[k]] = id1[k];
+            b[k] = index.computeIfAbsent(id2[k], id -> index.size());
+            ids[b[k]] = id2[k];
+        }
+
+        int n = index.size();
+        int[] parent = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        for (int k = 0; k < count; k++) {
+            union(parent, size, a[k], b[k]);
+        }
+
+        // Assign members, then relations, to their root's cluster in one pass each
+        int[] clusterOfRoot = new int[n];
+        Arrays.fill(clusterOfRoot, -1);
+        List<List<Long>> members = new ArrayList<>();
+        List<List<Relation>> relations = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (clusterOfRoot[root] < 0) {
+                clusterOfRoot[root] = members.size();
+                members.add(new ArrayList<>());
+                relations.add(new ArrayList<>());
+            }
+            members.get(clusterOfRoot[root]).add(ids[i]);
+        }
+        for (int k = 0; k < count; k++) {
+            relations.get(clusterOfRoot[find(parent, a[k])])
+                    .add(new Relation(id1[k], id2[k], similarity[k]));
+        }
+
+        List<Cluster> clusters = new ArrayList<>(members.size());
+        for (int c = 0; c < members.size(); c++) {
+            clusters.add(new Cluster(members.get(c), relations.get(c)));
+        }
+        return clusters;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // path halving
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int[] size, int x, int y) {
+        int rx = find(parent, x), ry = find(parent, y);
+        if (rx == ry) return;
+        if (size[rx] < size[ry]) {
+            int t = rx; rx = ry; ry = t;
+        }
+        parent[ry] = rx;
+        size[rx] += size[ry];
+    }
+}
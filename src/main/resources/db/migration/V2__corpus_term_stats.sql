@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS corpus_terms (
+    id serial PRIMARY KEY,
+    term text NOT NULL UNIQUE,
+    doc_count bigint NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS corpus_stats (
+    id smallint PRIMARY KEY,
+    document_count bigint NOT NULL DEFAULT 0
+);
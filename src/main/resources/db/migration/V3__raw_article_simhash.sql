@@ -0,0 +1,7 @@
+ALTER TABLE raw_articles ADD COLUMN IF NOT EXISTS simhash bigint;
+
+-- One expression index per 16-bit band: near-duplicates within 3 bits share at least one band
+CREATE INDEX IF NOT EXISTS idx_raw_articles_simhash_b0 ON raw_articles (((simhash >> 48) & 65535));
+CREATE INDEX IF NOT EXISTS idx_raw_articles_simhash_b1 ON raw_articles (((simhash >> 32) & 65535));
+CREATE INDEX IF NOT EXISTS idx_raw_articles_simhash_b2 ON raw_articles (((simhash >> 16) & 65535));
+CREATE INDEX IF NOT EXISTS idx_raw_articles_simhash_b3 ON raw_articles ((simhash & 65535));
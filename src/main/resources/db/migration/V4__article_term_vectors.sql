@@ -0,0 +1,3 @@
+-- Weighted term frequencies keyed by corpus_terms.id, encoded by TermVectorCodec
+ALTER TABLE raw_articles ADD COLUMN IF NOT EXISTS term_vector bytea;
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS term_vector bytea;
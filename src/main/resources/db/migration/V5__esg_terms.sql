@@ -0,0 +1,42 @@
+-- ESG relevance terms with per-field weights; reloaded by EsgFilterService without a restart
+CREATE TABLE IF NOT EXISTS esg_terms (
+    id serial PRIMARY KEY,
+    term text NOT NULL UNIQUE,
+    title_weight real NOT NULL DEFAULT 1,
+    description_weight real NOT NULL DEFAULT 1,
+    content_weight real NOT NULL DEFAULT 1,
+    enabled boolean NOT NULL DEFAULT true
+);
+
+-- Specific terms pass on their own anywhere; broad terms ("waste", "wind", ...) need
+-- the title or a second term before the default threshold of 1.0 is reached
+INSERT INTO esg_terms (term, title_weight, description_weight, content_weight) VALUES
+    ('esg', 3, 2, 1),
+    ('sustainability', 3, 2, 1),
+    ('sustainable', 2, 1.5, 0.75),
+    ('green finance', 3, 2, 1),
+    ('climate', 3, 2, 1),
+    ('carbon', 2, 1.5, 0.75),
+    ('net zero', 3, 2, 1),
+    ('renewable', 3, 2, 1),
+    ('solar', 2, 1, 0.5),
+    ('wind', 1.5, 0.75, 0.25),
+    ('hydro', 1.5, 0.75, 0.25),
+    ('geothermal', 3, 2, 1),
+    ('battery', 1.5, 0.75, 0.25),
+    ('electric vehicle', 2, 1.5, 0.75),
+    ('clean energy', 3, 2, 1),
+    ('environment', 1.5, 1, 0.5),
+    ('environmental', 2, 1.5, 0.75),
+    ('biodiversity', 3, 2, 1),
+    ('pollution', 2, 1.5, 0.75),
+    ('waste', 1.5, 0.75, 0.25),
+    ('recycling', 2, 1.5, 0.75),
+    ('eco-friendly', 2, 1.5, 0.75),
+    ('sustainable living', 3, 2, 1),
+    ('green technology', 3, 2, 1),
+    ('social governance', 3, 2, 1),
+    ('responsible investing', 3, 2, 1),
+    ('global warming', 3, 2, 1),
+    ('resilience', 1.5, 0.75, 0.25)
+ON CONFLICT (term) DO NOTHING;
@@ -0,0 +1,3 @@
+-- Lookups behind the per-page duplicate check (RawArticleDeduplicator)
+CREATE INDEX IF NOT EXISTS idx_raw_articles_url ON raw_articles (url);
+CREATE INDEX IF NOT EXISTS idx_raw_articles_title_source ON raw_articles (title, source_name);
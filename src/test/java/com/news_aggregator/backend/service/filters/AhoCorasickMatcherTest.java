@@ -0,0 +1,154 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The automaton must agree with a lowercase {@code contains} pass per keyword. */
+class AhoCorasickMatcherTest {
+
+    /** Keywords that are prefixes, suffixes and infixes of each other */
+    private static final List<List<String>> KEYWORD_SETS = List.of(
+            List.of("he", "she", "his", "hers"),
+            List.of("a", "aa", "aaa", "aab", "ba"),
+            List.of("esg", "sg", "g", "esgs"),
+            List.of("carbon", "carbon neutral", "neutral", "net zero", "zero", "net"),
+            List.of("green", "greenhouse", "house", "use", "reen"),
+            List.of("Émission", "émissions", "CO₂", "o₂"),
+            List.of("abcab", "bcabc", "cab", "abc", "bca")
+    );
+
+    @Test
+    void overlappingKeywordsMatchLikeContains() {
+        Random random = new Random(7);
+        for (List<String> keywords : KEYWORD_SETS) {
+            AhoCorasickMatcher matcher = new AhoCorasickMatcher(keywords);
+            String alphabet = alphabetOf(keywords);
+            for (int round = 0; round < 20_000; round++) {
+                assertSameAsContains(matcher, randomText(random, alphabet, random.nextInt(40)));
+            }
+        }
+    }
+
+    @Test
+    void esgKeywordsMatchLikeContains() {
+        List<String> keywords = List.of("esg", "sustainability", "sustainable", "climate", "carbon",
+                "net zero", "renewable", "green", "emissions", "biodiversity", "governance", "social");
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(keywords);
+        Random random = new Random(11);
+        List<String> words = new ArrayList<>(keywords);
+        words.addAll(List.of("NET", "Zero", "greenwash", "ESGs", "sustain", "able", "the", "report", "—", "é"));
+        for (int round = 0; round < 20_000; round++) {
+            StringBuilder text = new StringBuilder();
+            int n = random.nextInt(12);
+            for (int i = 0; i < n; i++) {
+                String word = words.get(random.nextInt(words.size()));
+                text.append(random.nextBoolean() ? word.toUpperCase(Locale.ROOT) : word);
+                text.append(random.nextInt(4) == 0 ? "" : " ");
+            }
+            assertSameAsContains(matcher, text.toString());
+        }
+    }
+
+    @Test
+    void outermostSkipsKeywordsInsideLongerMatches() {
+        Random random = new Random(13);
+        for (List<String> keywords : KEYWORD_SETS) {
+            AhoCorasickMatcher matcher = new AhoCorasickMatcher(keywords);
+            String alphabet = alphabetOf(keywords);
+            for (int round = 0; round < 20_000; round++) {
+                String text = randomText(random, alphabet, random.nextInt(40));
+                BitSet actual = new BitSet();
+                matcher.collectOutermost(text, actual);
+                assertEquals(outermostByBruteForce(matcher.getKeywords(), text), actual,
+                        () -> "outermost keywords in \"" + text + "\"");
+            }
+        }
+
+        AhoCorasickMatcher esg = new AhoCorasickMatcher(List.of("environment", "environmental", "sustainable", "sustainable living"));
+        assertEquals(List.of("environmental"), outermost(esg, "Environmental impact"));
+        assertEquals(List.of("environment", "environmental"), outermost(esg, "environmental policy for the environment"));
+        assertEquals(List.of("sustainable living"), outermost(esg, "tips for sustainable living"));
+        assertEquals(List.of("sustainable"), outermost(esg, "sustainable livin"));
+    }
+
+    @Test
+    void edgeCases() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Climate", "  ", "climate"));
+        assertEquals(List.of("climate"), matcher.getKeywords());
+        assertFalse(matcher.matchesAny(null));
+        assertFalse(matcher.matchesAny(""));
+        assertTrue(matcher.matchesAny("CLIMATE"));
+        assertTrue(matcher.matchesAny("climclimate"));
+        assertFalse(matcher.matchesAny("climat e"));
+
+        AhoCorasickMatcher empty = new AhoCorasickMatcher(List.of());
+        assertFalse(empty.matchesAny("anything"));
+        BitSet matched = new BitSet();
+        empty.collect("anything", matched);
+        assertTrue(matched.isEmpty());
+    }
+
+    private static void assertSameAsContains(AhoCorasickMatcher matcher, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> keywords = matcher.getKeywords();
+
+        BitSet expected = new BitSet();
+        for (int k = 0; k < keywords.size(); k++) {
+            if (lower.contains(keywords.get(k))) expected.set(k);
+        }
+        BitSet actual = new BitSet();
+        matcher.collect(text, actual);
+
+        assertEquals(expected, actual, () -> "keywords in \"" + text + "\"");
+        assertEquals(!expected.isEmpty(), matcher.matchesAny(text), () -> "matchesAny(\"" + text + "\")");
+    }
+
+    private static List<String> outermost(AhoCorasickMatcher matcher, String text) {
+        BitSet matched = new BitSet();
+        matcher.collectOutermost(text, matched);
+        return matched.stream().mapToObj(matcher.getKeywords()::get).toList();
+    }
+
+    /** Every occurrence of every keyword, kept unless another occurrence's span strictly contains it */
+    private static BitSet outermostByBruteForce(List<String> keywords, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<int[]> occurrences = new ArrayList<>(); // start, end, keyword
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            for (int i = lower.indexOf(keyword); i >= 0; i = lower.indexOf(keyword, i + 1)) {
+                occurrences.add(new int[]{i, i + keyword.length(), k});
+            }
+        }
+        BitSet expected = new BitSet();
+        for (int[] o : occurrences) {
+            boolean inside = occurrences.stream().anyMatch(p -> p != o && p[0] <= o[0] && o[1] <= p[1]
+                    && p[1] - p[0] > o[1] - o[0]);
+            if (!inside) expected.set(o[2]);
+        }
+        return expected;
+    }
+
+    /** Keyword characters in both cases plus a few that occur in no keyword */
+    private static String alphabetOf(List<String> keywords) {
+        StringBuilder alphabet = new StringBuilder(" x-É");
+        for (String keyword : keywords) {
+            alphabet.append(keyword.toLowerCase(Locale.ROOT)).append(keyword.toUpperCase(Locale.ROOT));
+        }
+        return alphabet.toString();
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return text.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Overlapping terms (as in the V5 seed) must not add up within one occurrence. */
+class EsgRelevanceModelTest {
+
+    private final EsgRelevanceModel model = new EsgRelevanceModel(List.of(
+            new EsgRelevanceModel.Term("environment", 1.5f, 1f, 0.5f),
+            new EsgRelevanceModel.Term("environmental", 2f, 1.5f, 0.75f),
+            new EsgRelevanceModel.Term("sustainable", 2f, 1.5f, 0.75f),
+            new EsgRelevanceModel.Term("sustainable living", 3f, 2f, 1f)));
+
+    @Test
+    void containedTermsCountOnlyAsTheLongerTerm() {
+        assertEquals(2.0, full("Environmental rules tighten", null, null), 1e-6);
+        assertEquals(3.0, full("Sustainable living on a budget", null, null), 1e-6);
+        assertEquals(0.75, full(null, null, "an environmental audit"), 1e-6);
+    }
+
+    @Test
+    void separateOccurrencesStillCount() {
+        assertEquals(3.5, full("Environmental damage to the environment", null, null), 1e-6);
+        assertEquals(2.0, full(null, "sustainable farms", "for the environment"), 1e-6);
+    }
+
+    private double full(String title, String description, String content) {
+        return model.score(title, description, content, Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,130 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The stripper (and the normalizer around it) must produce exactly what
+ * {@code Jsoup.parse(html).text()} does, and give up on markup outside its subset.
+ */
+class HtmlTextStripperTest {
+
+    private static final String[] TAGS = {"p", "div", "span", "a", "b", "em", "strong", "br", "img", "li", "ul",
+            "ol", "h2", "blockquote", "figure", "figcaption", "script", "style", "table", "td", "tr", "pre", "i",
+            "ins", "del", "s", "hr", "section", "aside", "custom-el", "gu-island", "P", "DIV", "Br", "title",
+            "textarea", "iframe", "font", "sup"};
+
+    private static final String[] TEXT = {"hello", "world", " ", "  ", "\n", "\t", "&amp;", "&nbsp;", "&lt;",
+            "&#x27;", "&copy", "&notit;", "&", "<", " < ", "<3", "\u00A0", "\u200B", "\u00AD", "\u000B", "\u0000",
+            "é", "[+123 chars]", "a>b", "\"q\"", "x=y", "\r\n", "&#0;", "&#xD800;", "&amp", "<!-- c -->",
+            "<!doctype html>", "</>", "</ p>", "<?x?>"};
+
+    private final TextNormalizerService normalizer = new TextNormalizerService();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "<p>Hello <b>world</b></p><p>Second&nbsp;paragraph</p>",
+            "Line one<br>line two<br/>line three",
+            "<ul><li>One</li><li>Two &amp; three</li></ul>",
+            "<h2>Title</h2><p>Text with <a href=\"https://example.com/?a=1&b=2\">a link</a>.</p>",
+            "<figure><img src=\"x.jpg\" alt=\"x\"><figcaption>Caption</figcaption></figure>",
+            "<p>Before</p><script>var s = '<p>not text</p>';</script><style>p { color: red }</style><p>After</p>",
+            "<p>Café &eacute; &#233; &#xE9; &copy 2024 &notanentity;</p>",
+            "x < y and y > z",
+            "<blockquote><p>Quoted</p></blockquote>tail",
+            "<span>in</span><span>line</span>"
+    })
+    void supportedMarkupMatchesJsoup(String html) {
+        String stripped = HtmlTextStripper.strip(html);
+        assertNotNull(stripped, "should be handled without Jsoup");
+        assertEquals(jsoupText(html), TextNormalizerService.collapseWhitespace(stripped, true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "<p>text<!-- comment --></p>",
+            "<!doctype html><p>x</p>",
+            "<table><tr><td>cell</td></tr></table>",
+            "<custom-el>x</custom-el>",
+            "<b><p>block in inline</p></b>",
+            "<p><b>mis</p></b>",
+            "<div/>text",
+            "<?xml version=\"1.0\"?><p>x</p>"
+    })
+    void unsupportedMarkupFallsBack(String html) {
+        assertNull(HtmlTextStripper.strip(html));
+        assertEquals(legacyNormalize(html), normalizer.normalize(html));
+    }
+
+    @Test
+    void randomFragmentsMatchJsoup() {
+        Random random = new Random(20);
+        int handled = 0;
+        int rounds = 50_000;
+        for (int round = 0; round < rounds; round++) {
+            String html = randomFragment(random);
+
+            assertEquals(legacyNormalize(html), normalizer.normalize(html), () -> "normalize(\"" + html + "\")");
+
+            String stripped = html.indexOf('\u0000') < 0 ? HtmlTextStripper.strip(html) : null;
+            if (stripped != null) {
+                handled++;
+                assertEquals(jsoupText(html), TextNormalizerService.collapseWhitespace(stripped, true),
+                        () -> "strip(\"" + html + "\")");
+            }
+        }
+        assertTrue(handled > rounds / 10, "fast path handled only " + handled + " fragments");
+    }
+
+    /** Mostly well-formed tag soup with stray entities, brackets and whitespace */
+    private static String randomFragment(Random random) {
+        StringBuilder html = new StringBuilder();
+        Deque<String> open = new ArrayDeque<>();
+        int parts = random.nextInt(25);
+        for (int i = 0; i < parts; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 4) {
+                html.append(TEXT[random.nextInt(TEXT.length)]);
+            } else if (kind < 7) {
+                String tag = TAGS[random.nextInt(TAGS.length)];
+                html.append('<').append(tag);
+                if (random.nextInt(4) == 0) html.append(" href=\"x>y\" class='c'");
+                if (random.nextInt(10) == 0) html.append(" a=/b/");
+                if (random.nextInt(15) == 0) html.append('/');
+                html.append('>');
+                if (tag.equalsIgnoreCase("script") || tag.equalsIgnoreCase("style")) {
+                    html.append("var x = '<p>' ; </").append(tag).append('>');
+                } else {
+                    open.push(tag);
+                }
+            } else if (kind < 9 && !open.isEmpty()) {
+                html.append("</").append(open.pop()).append('>');
+            } else if (!open.isEmpty() && random.nextBoolean()) {
+                html.append("</").append(TAGS[random.nextInt(TAGS.length)]).append('>');
+            }
+        }
+        return html.toString();
+    }
+
+    private static String jsoupText(String html) {
+        return TextNormalizerService.collapseWhitespace(Jsoup.parse(html).text(), false);
+    }
+
+    /** The normalizer before the fast paths: always a full Jsoup parse */
+    private static String legacyNormalize(String html) {
+        if (html == null || html.isBlank()) return null;
+        String text = Jsoup.parse(html).text().replaceAll("\\s+", " ").trim();
+        return text.replaceAll("\\[\\+\\d+ chars\\]", "").trim();
+    }
+}
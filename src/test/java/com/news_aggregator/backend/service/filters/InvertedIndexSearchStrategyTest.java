@@ -0,0 +1,94 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The inverted index must find exactly the pairs brute force finds, in the same order.
+ * Pairs scoring within {@link #EPSILON} of the threshold are left out of the comparison:
+ * both sides sum the same float products, but in a different order.
+ */
+class InvertedIndexSearchStrategyTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final AllPairsSearchStrategy allPairs = new AllPairsSearchStrategy(new ParallelSimilarityEngine(1, 64));
+    private final InvertedIndexSearchStrategy invertedIndex = new InvertedIndexSearchStrategy();
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, 50, 0.1",
+            "2, 200, 0.3",
+            "3, 300, 0.5",
+            "4, 400, 0.8",
+            "5, 250, 0.95",
+            "6, 1, 0.3",
+            "7, 0, 0.3"
+    })
+    void findsTheSamePairsAsAllPairs(long seed, int articles, double threshold) {
+        List<ArticleVector> vectors = randomCorpus(new Random(seed), articles);
+
+        List<SimilarityResult> expected = allPairs.findSimilar(vectors, threshold);
+        List<SimilarityResult> actual = invertedIndex.findSimilar(vectors, threshold);
+
+        Map<String, Double> actualScores = new HashMap<>();
+        for (SimilarityResult r : actual) actualScores.put(key(r), r.similarity());
+
+        for (SimilarityResult r : expected) {
+            if (r.similarity() - threshold < EPSILON) continue;
+            Double score = actualScores.get(key(r));
+            assertNotNull(score, "missing pair " + key(r));
+            assertEquals(r.similarity(), score, EPSILON, "score of " + key(r));
+        }
+        Map<String, Double> expectedScores = new HashMap<>();
+        for (SimilarityResult r : expected) expectedScores.put(key(r), r.similarity());
+        for (SimilarityResult r : actual) {
+            assertTrue(expectedScores.containsKey(key(r)) || r.similarity() - threshold < EPSILON,
+                    "unexpected pair " + key(r));
+        }
+
+        List<String> expectedOrder = expected.stream().map(this::key).filter(actualScores::containsKey).toList();
+        List<String> actualOrder = actual.stream().map(this::key).filter(expectedScores::containsKey).toList();
+        assertEquals(expectedOrder, actualOrder);
+    }
+
+    /**
+     * Articles over a Zipf-like vocabulary, so frequent terms are shared by most articles,
+     * plus exact copies (score 1.0) and empty vectors.
+     */
+    static List<ArticleVector> randomCorpus(Random random, int articles) {
+        int vocabulary = 2_000;
+        List<ArticleVector> vectors = new ArrayList<>(articles);
+        for (int i = 0; i < articles; i++) {
+            long id = 1_000L + i;
+            if (i > 0 && random.nextInt(10) == 0) {
+                vectors.add(new ArticleVector(id, vectors.get(random.nextInt(i)).vector(), new int[0]));
+                continue;
+            }
+            int terms = random.nextInt(20) == 0 ? 0 : 5 + random.nextInt(60);
+            Map<Integer, Double> weights = new HashMap<>();
+            for (int t = 0; t < terms; t++) {
+                int rank = (int) Math.floor(Math.pow(vocabulary, random.nextDouble())); // skewed to low ranks
+                weights.merge(rank - vocabulary / 2, 0.5 + random.nextDouble() * 3, Double::sum);
+            }
+            vectors.add(new ArticleVector(id, SparseVector.ofIds(weights), new int[0]));
+        }
+        return vectors;
+    }
+
+    private String key(SimilarityResult r) {
+        return r.id1() + "-" + r.id2();
+    }
+}
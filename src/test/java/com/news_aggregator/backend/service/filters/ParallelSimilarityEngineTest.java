@@ -0,0 +1,94 @@
+package com.news_aggregator.backend.service.filters;
+
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.ArticleVector;
+import com.news_aggregator.backend.service.filters.TfidfSimilarityService.SimilarityResult;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parallel scoring must return exactly what the serial loops return, in the same order,
+ * for tile sizes that do not divide the corpus size and corpora smaller than one tile.
+ */
+class ParallelSimilarityEngineTest {
+
+    private static final double THRESHOLD = 0.3;
+
+    @ParameterizedTest
+    @CsvSource({
+            // articles, tileSize
+            "0, 4",
+            "1, 4",
+            "2, 64",
+            "5, 64",
+            "37, 1",
+            "97, 8",
+            "130, 7",
+            "128, 16",
+            "200, 64"
+    })
+    void scoreAllPairsMatchesSerialLoop(int articles, int tileSize) {
+        List<ArticleVector> vectors = InvertedIndexSearchStrategyTest.randomCorpus(new Random(articles * 31L + tileSize), articles);
+
+        List<SimilarityResult> expected = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            for (int j = i + 1; j < vectors.size(); j++) {
+                score(vectors.get(i), vectors.get(j), expected);
+            }
+        }
+
+        ParallelSimilarityEngine engine = new ParallelSimilarityEngine(4, tileSize);
+        try {
+            assertTrue(engine.isEnabled());
+            assertEquals(expected, engine.scoreAllPairs(vectors, THRESHOLD, AllPairsSearchStrategy::cosine));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // articles, candidates, tileSize
+            "0, 0, 4",
+            "10, 3, 4",
+            "60, 15, 4",
+            "100, 1000, 3",
+            "150, 5000, 7",
+            "150, 4096, 8",
+            "200, 20000, 64"
+    })
+    void scoreCandidatesMatchesSerialLoop(int articles, int candidateCount, int tileSize) {
+        Random random = new Random(articles * 17L + candidateCount);
+        List<ArticleVector> vectors = InvertedIndexSearchStrategyTest.randomCorpus(random, articles);
+
+        // Unordered and possibly repeated, like candidates coming out of LSH buckets
+        List<int[]> candidates = new ArrayList<>();
+        for (int k = 0; k < candidateCount; k++) {
+            int i = random.nextInt(articles - 1);
+            candidates.add(new int[]{i, i + 1 + random.nextInt(articles - 1 - i)});
+        }
+
+        List<SimilarityResult> expected = new ArrayList<>();
+        for (int[] pair : candidates) {
+            score(vectors.get(pair[0]), vectors.get(pair[1]), expected);
+        }
+
+        ParallelSimilarityEngine engine = new ParallelSimilarityEngine(4, tileSize);
+        try {
+            assertEquals(expected, engine.scoreCandidates(vectors, candidates, THRESHOLD, AllPairsSearchStrategy::cosine));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static void score(ArticleVector v1, ArticleVector v2, List<SimilarityResult> out) {
+        double score = AllPairsSearchStrategy.cosine(v1, v2);
+        if (score >= THRESHOLD) out.add(new SimilarityResult(v1.id(), v2.id(), score));
+    }
+}
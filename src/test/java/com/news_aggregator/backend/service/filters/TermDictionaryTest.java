@@ -0,0 +1,40 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TermDictionaryTest {
+
+    @Test
+    void registeringATermKeepsItsTransientId() {
+        TermDictionary dictionary = new TermDictionary();
+        Map<String, Double> weights = Map.of("carbon", 2.0, "tax", 1.0, "solar", 0.5);
+
+        SparseVector before = SparseVector.of(weights, dictionary);
+        int transientId = dictionary.idOf("carbon");
+        dictionary.register("carbon", 42);
+        dictionary.register("tax", 7);
+        SparseVector after = SparseVector.of(weights, dictionary);
+
+        assertEquals(1.0, before.dot(after), 1e-6);
+        assertEquals(transientId, dictionary.idOf("carbon"));
+        assertEquals(42, dictionary.persistentIdOf("carbon"));
+        assertEquals(transientId, dictionary.idOfPersistent(42));
+        assertEquals("carbon", dictionary.termOf(dictionary.idOfPersistent(42)));
+    }
+
+    @Test
+    void termsRegisteredFirstUseTheirCorpusId() {
+        TermDictionary dictionary = new TermDictionary();
+        dictionary.register("climate", 5);
+
+        assertEquals(5, dictionary.idOf("climate"));
+        assertEquals(5, dictionary.idOfPersistent(5));
+        assertEquals("climate", dictionary.termOf(5));
+        assertEquals(-1, dictionary.persistentIdOf("unseen"));
+        assertEquals(99, dictionary.idOfPersistent(99));
+    }
+}
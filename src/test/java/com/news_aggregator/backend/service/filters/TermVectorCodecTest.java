@@ -0,0 +1,81 @@
+package com.news_aggregator.backend.service.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TermVectorCodecTest {
+
+    @Test
+    void emptyVector() {
+        byte[] encoded = TermVectorCodec.encode(Map.of());
+        assertArrayEquals(new byte[]{0}, encoded);
+        assertRoundTrip(Map.of());
+    }
+
+    @Test
+    void singleTerm() {
+        assertRoundTrip(Map.of(1, 1.0f));
+        assertRoundTrip(Map.of(127, 0.5f));
+        assertRoundTrip(Map.of(128, 2.5f));
+    }
+
+    @Test
+    void largeIds() {
+        assertRoundTrip(Map.of(Integer.MAX_VALUE, 3.0f));
+        assertRoundTrip(Map.of(1, 1.0f, 16_384, 2.0f, 2_097_152, 3.0f, 268_435_456, 4.0f, Integer.MAX_VALUE, 5.0f));
+    }
+
+    @Test
+    void negativeIds() {
+        assertRoundTrip(Map.of(-1, 1.0f));
+        assertRoundTrip(Map.of(-5, 1.5f, 3, 0.25f));
+        assertRoundTrip(Map.of(Integer.MIN_VALUE, 1.0f, -1, 2.0f, 0, 3.0f, Integer.MAX_VALUE, 4.0f));
+    }
+
+    @Test
+    void specialFrequencies() {
+        assertRoundTrip(Map.of(1, 0.0f, 2, -0.0f, 3, Float.MIN_VALUE, 4, Float.MAX_VALUE, 5, -7.5f));
+    }
+
+    @Test
+    void randomVectors() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            Map<Integer, Float> frequencies = new HashMap<>();
+            int terms = random.nextInt(200);
+            for (int t = 0; t < terms; t++) {
+                int id = switch (random.nextInt(3)) {
+                    case 0 -> 1 + random.nextInt(1_000);
+                    case 1 -> 1 + random.nextInt(Integer.MAX_VALUE);
+                    default -> random.nextInt();
+                };
+                frequencies.put(id, random.nextFloat() * 10);
+            }
+            assertRoundTrip(frequencies);
+        }
+    }
+
+    private static void assertRoundTrip(Map<Integer, Float> frequencies) {
+        TermVectorCodec.TermFrequencies decoded = TermVectorCodec.decode(TermVectorCodec.encode(frequencies));
+
+        TreeMap<Integer, Float> sorted = new TreeMap<>(frequencies);
+        int[] expectedIds = sorted.keySet().stream().mapToInt(Integer::intValue).toArray();
+        float[] expectedFrequencies = new float[sorted.size()];
+        int k = 0;
+        for (float f : sorted.values()) expectedFrequencies[k++] = f;
+
+        assertArrayEquals(expectedIds, decoded.termIds());
+        assertEquals(expectedFrequencies.length, decoded.frequencies().length);
+        for (int i = 0; i < expectedFrequencies.length; i++) {
+            assertEquals(Float.floatToRawIntBits(expectedFrequencies[i]), Float.floatToRawIntBits(decoded.frequencies()[i]),
+                    "frequency of term " + expectedIds[i]);
+        }
+    }
+}